@@ -0,0 +1,43 @@
+package com.hack.InventoryManagementSystem.archive;
+
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+//a transactions row as kept in a segment file: the scalar columns plus the raw foreign keys
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedTransaction {
+
+    private Long id;
+
+    private Integer totalProducts;
+
+    private BigDecimal totalPrice;
+
+    private TransactionType transactionType;
+
+    private TransactionStatus status;
+
+    private String description;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime createdAt;
+
+    private Long originalSaleId;
+
+    private Long userId;
+
+    private Long productId;
+
+    private Long supplierId;
+}
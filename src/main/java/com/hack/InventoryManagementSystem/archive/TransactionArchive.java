@@ -0,0 +1,132 @@
+package com.hack.InventoryManagementSystem.archive;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Cold storage for old transactions: append-only segment files on local disk, each covering a contiguous id range
+ * right above the previous one. The highest archived id is the watermark: every transaction at or below it lives in
+ * the segments, every transaction above it lives in the transactions table.
+ */
+@Component
+@Slf4j
+public class TransactionArchive {
+
+    private static final String SEGMENT_PREFIX = "transactions-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int blockRows;
+
+    //sorted by id; replaced as a whole when a segment is added so readers never lock
+    private volatile List<TransactionSegment> segments = List.of();
+
+    public TransactionArchive(@Value("${inventory.archive.directory:transaction-archive}") String directory,
+                              @Value("${inventory.archive.block-rows:1024}") int blockRows) {
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.blockRows = blockRows;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Files.createDirectories(directory);
+        List<TransactionSegment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                //a .tmp is a segment whose archive run died before the rename; its rows are still in the table
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    loaded.add(TransactionSegment.open(file));
+                }
+            }
+        }
+        loaded.sort(Comparator.comparingLong(TransactionSegment::firstId));
+        for (int i = 1; i < loaded.size(); i++) {
+            if (loaded.get(i).firstId() <= loaded.get(i - 1).lastId()) {
+                throw new IllegalStateException("Overlapping archive segments " + loaded.get(i - 1).file() + " and " + loaded.get(i).file());
+            }
+        }
+        segments = List.copyOf(loaded);
+        log.info("Transaction archive: {} segments in {}, watermark {}", loaded.size(), directory, watermark());
+    }
+
+    public long watermark() {
+        List<TransactionSegment> current = segments;
+        return current.isEmpty() ? 0 : current.get(current.size() - 1).lastId();
+    }
+
+    //newest created_at in the archive, null when nothing has been archived yet
+    public LocalDateTime lastArchivedAt() {
+        List<TransactionSegment> current = segments;
+        return current.isEmpty() ? null : current.stream().map(TransactionSegment::maxCreatedAt).max(Comparator.naturalOrder()).orElseThrow();
+    }
+
+    public Optional<ArchivedTransaction> findById(long id) {
+        List<TransactionSegment> current = segments;
+        if (current.isEmpty() || id > watermark()) return Optional.empty();
+
+        int low = 0, high = current.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            TransactionSegment segment = current.get(mid);
+            if (id < segment.firstId()) {
+                high = mid - 1;
+            } else if (id > segment.lastId()) {
+                low = mid + 1;
+            } else {
+                try {
+                    return segment.findById(id);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    //archived rows with from <= created_at < to, in id order
+    public void forEachCreatedBetween(LocalDateTime from, LocalDateTime to, Consumer<ArchivedTransaction> consumer) {
+        try {
+            for (TransactionSegment segment : segments) segment.forEachCreatedBetween(from, to, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    TransactionSegmentWriter newSegment(Path tempFile) throws IOException {
+        return new TransactionSegmentWriter(tempFile, blockRows);
+    }
+
+    Path newTempFile() throws IOException {
+        return Files.createTempFile(directory, SEGMENT_PREFIX, ".tmp");
+    }
+
+    //the rename is the commit point: once it is done the rows count as archived and may leave the table
+    synchronized void publish(Path tempFile, long firstId, long lastId) throws IOException {
+        if (firstId <= watermark()) throw new IllegalStateException("Segment starting at " + firstId + " overlaps the archive");
+        Path target = directory.resolve(SEGMENT_PREFIX + String.format("%019d-%019d", firstId, lastId) + SEGMENT_SUFFIX);
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+
+        List<TransactionSegment> updated = new ArrayList<>(segments);
+        updated.add(TransactionSegment.open(target));
+        segments = List.copyOf(updated);
+    }
+}
@@ -0,0 +1,158 @@
+package com.hack.InventoryManagementSystem.archive;
+
+import com.hack.InventoryManagementSystem.enums.ArchiveRunResult;
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves transactions older than the horizon out of the transactions table: rows are copied in id order into a new
+ * segment, the segment is fsynced and renamed into the archive, and only then are the rows (and their search terms)
+ * deleted in small batches. A run that dies half way is finished by the next one.
+ */
+@Component
+@Slf4j
+public class TransactionArchiver {
+
+    private static final String SELECT_SQL = "SELECT id, total_products, total_price, transaction_type, status, description, " +
+            "updated_at, created_at, original_sale_id, user_id, product_id, supplier_id " +
+            "FROM transactions WHERE id > ? AND id <= ? ORDER BY id LIMIT ?";
+    private static final int READ_BATCH = 5000;
+
+    private final TransactionArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int horizonDays;
+    private final int segmentRows;
+    private final int deleteBatch;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public TransactionArchiver(TransactionArchive archive,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${inventory.archive.enabled:false}") boolean enabled,
+                               @Value("${inventory.archive.horizon-days:365}") int horizonDays,
+                               @Value("${inventory.archive.segment-rows:100000}") int segmentRows,
+                               @Value("${inventory.archive.delete-batch:2000}") int deleteBatch) {
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+        this.segmentRows = segmentRows;
+        this.deleteBatch = deleteBatch;
+    }
+
+    @Scheduled(cron = "${inventory.archive.cron:0 0 4 * * SUN}")
+    public void scheduledRun() {
+        if (enabled) archiveOldTransactions();
+    }
+
+    public ArchiveRunResult archiveOldTransactions() {
+        if (!running.compareAndSet(false, true)) return ArchiveRunResult.ALREADY_RUNNING;
+        try {
+            long started = System.currentTimeMillis();
+            LocalDateTime horizon = LocalDateTime.now().minusDays(horizonDays);
+            //leftovers of a run that stopped between the rename and the deletes
+            purgeArchivedRows();
+
+            //ids are handed out in created_at order, so everything up to the newest old row is old enough
+            Long cutoffId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions WHERE created_at < ?",
+                    Long.class, Timestamp.valueOf(horizon));
+            long archived = 0;
+            while (cutoffId != null && archive.watermark() < cutoffId) {
+                long rows = writeSegment(cutoffId);
+                if (rows == 0) break;
+                archived += rows;
+                purgeArchivedRows();
+            }
+            log.info("Archived {} transactions older than {} in {} ms, watermark {}", archived, horizon,
+                    System.currentTimeMillis() - started, archive.watermark());
+            return ArchiveRunResult.COMPLETED;
+        } catch (IOException e) {
+            log.error("Transaction archive run failed", e);
+            return ArchiveRunResult.FAILED;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    //copies up to segmentRows rows above the watermark into one new segment
+    private long writeSegment(long cutoffId) throws IOException {
+        Path tempFile = archive.newTempFile();
+        long firstId = 0;
+        long rows;
+        long lastId;
+        try (TransactionSegmentWriter writer = archive.newSegment(tempFile)) {
+            long after = archive.watermark();
+            while (writer.rowCount() < segmentRows) {
+                int limit = (int) Math.min(READ_BATCH, segmentRows - writer.rowCount());
+                List<ArchivedTransaction> batch = jdbcTemplate.query(SELECT_SQL, TransactionArchiver::mapRow, after, cutoffId, limit);
+                if (batch.isEmpty()) break;
+                if (writer.rowCount() == 0) firstId = batch.get(0).getId();
+                for (ArchivedTransaction transaction : batch) writer.append(transaction);
+                after = batch.get(batch.size() - 1).getId();
+                if (batch.size() < limit) break;
+            }
+            rows = writer.rowCount();
+            lastId = writer.lastId();
+            if (rows > 0) writer.finish();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        if (rows == 0) {
+            Files.deleteIfExists(tempFile);
+            return 0;
+        }
+        archive.publish(tempFile, firstId, lastId);
+        return rows;
+    }
+
+    //autocommit batches keep locks and undo short while the shop keeps selling
+    private void purgeArchivedRows() {
+        long watermark = archive.watermark();
+        if (watermark == 0) return;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM transaction_search_terms WHERE transaction_id <= ? LIMIT " + deleteBatch, watermark);
+        } while (deleted == deleteBatch);
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM transactions WHERE id <= ? ORDER BY id LIMIT " + deleteBatch, watermark);
+        } while (deleted == deleteBatch);
+    }
+
+    private static ArchivedTransaction mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return ArchivedTransaction.builder()
+                .id(rs.getLong("id"))
+                .totalProducts(rs.getObject("total_products", Integer.class))
+                .totalPrice(rs.getBigDecimal("total_price"))
+                .transactionType(rs.getString("transaction_type") != null ? TransactionType.valueOf(rs.getString("transaction_type")) : null)
+                .status(rs.getString("status") != null ? TransactionStatus.valueOf(rs.getString("status")) : null)
+                .description(rs.getString("description"))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .originalSaleId(rs.getObject("original_sale_id", Long.class))
+                .userId(rs.getObject("user_id", Long.class))
+                .productId(rs.getObject("product_id", Long.class))
+                .supplierId(rs.getObject("supplier_id", Long.class))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,204 @@
+package com.hack.InventoryManagementSystem.archive;
+
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable segment file of archived transactions. Layout: a header, deflate-compressed blocks of rows in id
+ * order, a sparse index with one entry per block (id range, created_at range, offset) and a fixed-size footer that
+ * points at the index. Only the index is kept in memory; a lookup inflates the single block that can hold the row.
+ */
+final class TransactionSegment {
+
+    static final int MAGIC = 0x54585331; // "TXS1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int INDEX_ENTRY_BYTES = 5 * Long.BYTES + 3 * Integer.BYTES;
+    static final int FOOTER_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+    record Block(long firstId, long lastId, long minCreated, long maxCreated, long offset,
+                 int compressedLength, int rawLength, int rows) {
+    }
+
+    private final Path file;
+    private final List<Block> blocks;
+
+    private TransactionSegment(Path file, List<Block> blocks) {
+        this.file = file;
+        this.blocks = blocks;
+    }
+
+    static TransactionSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + FOOTER_BYTES) throw new IOException("Truncated segment " + file);
+
+            ByteBuffer header = read(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) throw new IOException("Not a transaction segment " + file);
+
+            ByteBuffer footer = read(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+            long indexOffset = footer.getLong();
+            int blockCount = footer.getInt();
+            if (footer.getInt() != MAGIC || indexOffset + (long) blockCount * INDEX_ENTRY_BYTES != size - FOOTER_BYTES) {
+                throw new IOException("Corrupt segment footer " + file);
+            }
+
+            ByteBuffer index = read(channel, indexOffset, blockCount * INDEX_ENTRY_BYTES);
+            List<Block> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(new Block(index.getLong(), index.getLong(), index.getLong(), index.getLong(), index.getLong(),
+                        index.getInt(), index.getInt(), index.getInt()));
+            }
+            if (blocks.isEmpty()) throw new IOException("Empty segment " + file);
+            return new TransactionSegment(file, List.copyOf(blocks));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long firstId() {
+        return blocks.get(0).firstId();
+    }
+
+    long lastId() {
+        return blocks.get(blocks.size() - 1).lastId();
+    }
+
+    LocalDateTime maxCreatedAt() {
+        return LocalDateTime.ofEpochSecond(blocks.stream().mapToLong(Block::maxCreated).max().orElseThrow(), 0, ZoneOffset.UTC);
+    }
+
+    Optional<ArchivedTransaction> findById(long id) throws IOException {
+        //blocks are in id order, so the candidate is the last block starting at or below id
+        int low = 0, high = blocks.size() - 1, candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).firstId() <= id) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate < 0 || blocks.get(candidate).lastId() < id) return Optional.empty();
+
+        for (ArchivedTransaction transaction : readBlock(blocks.get(candidate))) {
+            if (transaction.getId() == id) return Optional.of(transaction);
+        }
+        return Optional.empty();
+    }
+
+    //half-open [from, to); only blocks whose created_at range overlaps it are inflated
+    void forEachCreatedBetween(LocalDateTime from, LocalDateTime to, Consumer<ArchivedTransaction> consumer) throws IOException {
+        long fromSecond = from.toEpochSecond(ZoneOffset.UTC);
+        long toSecond = to.toEpochSecond(ZoneOffset.UTC);
+        for (Block block : blocks) {
+            if (block.maxCreated() < fromSecond || block.minCreated() > toSecond) continue;
+            for (ArchivedTransaction transaction : readBlock(block)) {
+                LocalDateTime createdAt = transaction.getCreatedAt();
+                if (createdAt != null && !createdAt.isBefore(from) && createdAt.isBefore(to)) consumer.accept(transaction);
+            }
+        }
+    }
+
+    private List<ArchivedTransaction> readBlock(Block block) throws IOException {
+        byte[] compressed;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            compressed = read(channel, block.offset(), block.compressedLength()).array();
+        }
+
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            if (inflater.inflate(raw) != raw.length || !inflater.finished()) throw new IOException("Corrupt block in " + file);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block in " + file, e);
+        } finally {
+            inflater.end();
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        List<ArchivedTransaction> transactions = new ArrayList<>(block.rows());
+        for (int i = 0; i < block.rows(); i++) transactions.add(decode(in));
+        return transactions;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Unexpected end of segment");
+        }
+        return buffer.flip();
+    }
+
+    //row encoding: id, a bit mask of the null columns, then every non-null column in a fixed order
+    static void encode(DataOutputStream out, ArchivedTransaction t) throws IOException {
+        Object[] columns = {t.getCreatedAt(), t.getUpdatedAt(), t.getTotalProducts(), t.getTotalPrice(), t.getTransactionType(),
+                t.getStatus(), t.getDescription(), t.getOriginalSaleId(), t.getUserId(), t.getProductId(), t.getSupplierId()};
+        int nulls = 0;
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == null) nulls |= 1 << i;
+        }
+        out.writeLong(t.getId());
+        out.writeShort(nulls);
+        if (t.getCreatedAt() != null) writeDateTime(out, t.getCreatedAt());
+        if (t.getUpdatedAt() != null) writeDateTime(out, t.getUpdatedAt());
+        if (t.getTotalProducts() != null) out.writeInt(t.getTotalProducts());
+        if (t.getTotalPrice() != null) out.writeUTF(t.getTotalPrice().toPlainString());
+        if (t.getTransactionType() != null) out.writeUTF(t.getTransactionType().name());
+        if (t.getStatus() != null) out.writeUTF(t.getStatus().name());
+        if (t.getDescription() != null) out.writeUTF(t.getDescription());
+        if (t.getOriginalSaleId() != null) out.writeLong(t.getOriginalSaleId());
+        if (t.getUserId() != null) out.writeLong(t.getUserId());
+        if (t.getProductId() != null) out.writeLong(t.getProductId());
+        if (t.getSupplierId() != null) out.writeLong(t.getSupplierId());
+    }
+
+    static ArchivedTransaction decode(DataInputStream in) throws IOException {
+        ArchivedTransaction t = new ArchivedTransaction();
+        t.setId(in.readLong());
+        int nulls = in.readUnsignedShort();
+        if ((nulls & 1) == 0) t.setCreatedAt(readDateTime(in));
+        if ((nulls & 1 << 1) == 0) t.setUpdatedAt(readDateTime(in));
+        if ((nulls & 1 << 2) == 0) t.setTotalProducts(in.readInt());
+        if ((nulls & 1 << 3) == 0) t.setTotalPrice(new BigDecimal(in.readUTF()));
+        if ((nulls & 1 << 4) == 0) t.setTransactionType(TransactionType.valueOf(in.readUTF()));
+        if ((nulls & 1 << 5) == 0) t.setStatus(TransactionStatus.valueOf(in.readUTF()));
+        if ((nulls & 1 << 6) == 0) t.setDescription(in.readUTF());
+        if ((nulls & 1 << 7) == 0) t.setOriginalSaleId(in.readLong());
+        if ((nulls & 1 << 8) == 0) t.setUserId(in.readLong());
+        if ((nulls & 1 << 9) == 0) t.setProductId(in.readLong());
+        if ((nulls & 1 << 10) == 0) t.setSupplierId(in.readLong());
+        return t;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,114 @@
+package com.hack.InventoryManagementSystem.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+//writes one segment file front to back; only the block being filled and the sparse index are held in memory
+final class TransactionSegmentWriter implements Closeable {
+
+    private final FileOutputStream file;
+    private final DataOutputStream out;
+    private final int blockRows;
+    private final List<TransactionSegment.Block> index = new ArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+    private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(blockBytes);
+    private long position;
+    private int rows;
+    private long firstId;
+    private long lastId;
+    private long minCreated;
+    private long maxCreated;
+    private long rowCount;
+
+    TransactionSegmentWriter(Path path, int blockRows) throws IOException {
+        this.file = new FileOutputStream(path.toFile());
+        this.out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+        this.blockRows = blockRows;
+        out.writeInt(TransactionSegment.MAGIC);
+        out.writeInt(TransactionSegment.VERSION);
+        position = TransactionSegment.HEADER_BYTES;
+    }
+
+    //rows must arrive in ascending id order, the sparse index relies on it
+    void append(ArchivedTransaction transaction) throws IOException {
+        if (rowCount > 0 && transaction.getId() <= lastId) throw new IllegalStateException("Segment rows must be in id order");
+        long created = transaction.getCreatedAt() != null ? transaction.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : 0;
+        if (rows == 0) {
+            firstId = transaction.getId();
+            minCreated = created;
+            maxCreated = created;
+        }
+        TransactionSegment.encode(blockOut, transaction);
+        lastId = transaction.getId();
+        minCreated = Math.min(minCreated, created);
+        maxCreated = Math.max(maxCreated, created);
+        rows++;
+        rowCount++;
+        if (rows == blockRows) flushBlock();
+    }
+
+    long rowCount() {
+        return rowCount;
+    }
+
+    long lastId() {
+        return lastId;
+    }
+
+    //writes the last block, the index and the footer, then forces everything to disk
+    void finish() throws IOException {
+        flushBlock();
+        long indexOffset = position;
+        ByteBuffer entry = ByteBuffer.allocate(TransactionSegment.INDEX_ENTRY_BYTES);
+        for (TransactionSegment.Block block : index) {
+            entry.clear();
+            entry.putLong(block.firstId()).putLong(block.lastId()).putLong(block.minCreated()).putLong(block.maxCreated())
+                    .putLong(block.offset()).putInt(block.compressedLength()).putInt(block.rawLength()).putInt(block.rows());
+            out.write(entry.array());
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(index.size());
+        out.writeInt(TransactionSegment.MAGIC);
+        out.flush();
+        file.getFD().sync();
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) return;
+        blockOut.flush();
+        byte[] raw = blockBytes.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+
+        index.add(new TransactionSegment.Block(firstId, lastId, minCreated, maxCreated, position,
+                compressed.size(), raw.length, rows));
+        compressed.writeTo(out);
+        position += compressed.size();
+        blockBytes.reset();
+        rows = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        out.close();
+    }
+}
@@ -0,0 +1,99 @@
+package com.hack.InventoryManagementSystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hack.InventoryManagementSystem.dto.CacheStatsDTO;
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.events.ProductChangedEvent;
+import com.hack.InventoryManagementSystem.events.ProductSnapshot;
+import com.hack.InventoryManagementSystem.events.StockChangedEvent;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded read-through cache of products by id, plus a SKU -> id index. Entries are dropped after every committed
+ * product or stock change. Cached products are detached and shared: read them, never modify and save them.
+ */
+@Component
+public class ProductCache {
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, Product> byId;
+    private final Cache<String, Long> idBySku;
+
+    public ProductCache(ProductRepository productRepository,
+                        @Value("${inventory.product-cache.max-size:10000}") long maxSize,
+                        @Value("${inventory.product-cache.ttl:10m}") Duration ttl) {
+        this.productRepository = productRepository;
+        this.byId = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+        this.idBySku = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public Optional<Product> findById(Long id) {
+        if (id == null) return Optional.empty();
+        return Optional.ofNullable(byId.get(id, key -> productRepository.findById(key).orElse(null)));
+    }
+
+    public Optional<Product> findBySku(String sku) {
+        if (sku == null) return Optional.empty();
+        Long id = idBySku.getIfPresent(sku);
+        if (id != null) {
+            Optional<Product> product = findById(id);
+            if (product.isPresent() && sku.equals(product.get().getSku())) return product;
+            idBySku.invalidate(sku);
+        }
+
+        //only the mapping is cached: putting this plain read into byId could overwrite the eviction of a change that
+        //committed meanwhile; the product itself is cached by the next findById, through the loader
+        Optional<Product> product = productRepository.findBySku(sku);
+        product.ifPresent(found -> idBySku.put(sku, found.getId()));
+        return product;
+    }
+
+    public void evict(Long id) {
+        if (id != null) byId.invalidate(id);
+    }
+
+    public Map<String, CacheStatsDTO> stats() {
+        Map<String, CacheStatsDTO> stats = new LinkedHashMap<>();
+        stats.put("productsById", toDTO(byId));
+        stats.put("productIdsBySku", toDTO(idBySku));
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.getBefore());
+        evict(event.getAfter());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        evict(event.getProductId());
+    }
+
+    private void evict(ProductSnapshot snapshot) {
+        if (snapshot == null) return;
+        evict(snapshot.getId());
+        if (snapshot.getSku() != null) idBySku.invalidate(snapshot.getSku());
+    }
+
+    private static CacheStatsDTO toDTO(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
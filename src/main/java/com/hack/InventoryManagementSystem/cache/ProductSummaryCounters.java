@@ -0,0 +1,80 @@
+package com.hack.InventoryManagementSystem.cache;
+
+import com.hack.InventoryManagementSystem.dto.CategoryStockSummary;
+import com.hack.InventoryManagementSystem.dto.ProductSummaryDTO;
+import com.hack.InventoryManagementSystem.events.ProductChangedEvent;
+import com.hack.InventoryManagementSystem.events.ProductSnapshot;
+import com.hack.InventoryManagementSystem.events.StockChangedEvent;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-category product counts and total stock kept in memory and moved by product/stock events after commit,
+ * so the summary endpoint is O(categories). A periodic resync from the GROUP BY query bounds any drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSummaryCounters {
+
+    private final ProductRepository productRepository;
+
+    private final Map<String, Long> productsByCategory = new HashMap<>();
+    private long totalAvailableStock;
+    private boolean loaded;
+
+    public synchronized ProductSummaryDTO summary() {
+        if (!loaded) resync();
+        return ProductSummaryDTO.builder()
+                .totalProductsByCategory(new HashMap<>(productsByCategory))
+                .totalAvailableStock(totalAvailableStock)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inventory.summary.resync-ms:600000}", initialDelayString = "${inventory.summary.resync-ms:600000}")
+    public synchronized void resync() {
+        productsByCategory.clear();
+        totalAvailableStock = 0;
+        for (CategoryStockSummary row : productRepository.summarizeByCategory()) {
+            productsByCategory.put(row.getCategoryName(), row.getProductCount());
+            totalAvailableStock += row.getTotalStock();
+        }
+        loaded = true;
+        log.debug("Product summary resynced: {} categories", productsByCategory.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (!loaded) return;
+        apply(event.getBefore(), -1);
+        apply(event.getAfter(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStockChanged(StockChangedEvent event) {
+        if (!loaded) return;
+        totalAvailableStock += event.getDelta();
+    }
+
+    private void apply(ProductSnapshot snapshot, int sign) {
+        if (snapshot == null) return;
+        totalAvailableStock += (long) sign * snapshot.getStockQuantity();
+        if (snapshot.getCategoryName() == null) return;
+        long count = productsByCategory.getOrDefault(snapshot.getCategoryName(), 0L) + sign;
+        if (count > 0) {
+            productsByCategory.put(snapshot.getCategoryName(), count);
+        } else {
+            productsByCategory.remove(snapshot.getCategoryName());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.hack.InventoryManagementSystem.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    //a single worker keeps bulk imports to one Hikari connection, leaving the rest for sell/purchase traffic
+    @Bean
+    public ThreadPoolTaskExecutor productImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("product-import-");
+        executor.initialize();
+        return executor;
+    }
+
+    //thumbnails are best effort: when the queue is full the task is rejected and the upload carries on without one
+    @Bean
+    public ThreadPoolTaskExecutor productImageExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("product-image-");
+        executor.initialize();
+        return executor;
+    }
+
+    //index rebuilds and other one-off jobs over the transactions table, one at a time
+    @Bean
+    public ThreadPoolTaskExecutor transactionMaintenanceExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("transaction-maintenance-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -2,16 +2,25 @@ package com.hack.InventoryManagementSystem.controller;
 
 import com.hack.InventoryManagementSystem.dto.ProductDTO;
 import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.enums.ImportFormat;
+import com.hack.InventoryManagementSystem.services.ExpiryService;
+import com.hack.InventoryManagementSystem.services.ProductExportService;
+import com.hack.InventoryManagementSystem.services.ProductImportService;
 import com.hack.InventoryManagementSystem.services.ProductService;
+import com.hack.InventoryManagementSystem.services.StockLedgerService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/products")
@@ -19,6 +28,10 @@ import java.math.BigDecimal;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ExpiryService expiryService;
+    private final StockLedgerService stockLedgerService;
 
     @PostMapping(value = "/add", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAuthority('MANAGER')")
@@ -30,7 +43,8 @@ public class ProductController {
             @RequestParam("price") BigDecimal price,
             @RequestParam("stockQuantity") Integer stockQuantity,
             @RequestParam("categoryId") Long categoryId,
-            @RequestParam(value = "description", required = false) String description) {
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "expiryDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiryDate) {
 
         ProductDTO productDTO = new ProductDTO();
         productDTO.setName(name);
@@ -39,13 +53,17 @@ public class ProductController {
         productDTO.setStockQuantity(stockQuantity);
         productDTO.setCategoryId(categoryId);
         productDTO.setDescription(description);
+        productDTO.setExpirationDate(expiryDate);
 
-        return ResponseEntity.ok(productService.saveProduct(productDTO));
+        return ResponseEntity.ok(productService.saveProduct(productDTO, imageFile));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Response> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<Response> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(productService.getAllProducts(cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -53,6 +71,26 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductById(id));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<Response> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(productService.searchProducts(query, page, size));
+    }
+
+    @GetMapping("/sku/{sku}")
+    public ResponseEntity<Response> getProductBySku(@PathVariable String sku) {
+        return ResponseEntity.ok(productService.getProductBySku(sku));
+    }
+
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    public ResponseEntity<Response> getCacheStats() {
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
+
     @PutMapping(value = "/update", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAuthority('MANAGER')")
     public ResponseEntity<Response> updateProduct(
@@ -63,7 +101,8 @@ public class ProductController {
             @RequestParam("price") BigDecimal price,
             @RequestParam("stockQuantity") Integer stockQuantity,
             @RequestParam("categoryId") Long categoryId,
-            @RequestParam(value = "description", required = false) String description
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "expiryDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiryDate
     ) {
         ProductDTO productDTO = new ProductDTO();
         productDTO.setProductId(productId);
@@ -73,7 +112,8 @@ public class ProductController {
         productDTO.setStockQuantity(stockQuantity);
         productDTO.setCategoryId(categoryId);
         productDTO.setDescription(description);
-        return ResponseEntity.ok(productService.updateProduct(productDTO));
+        productDTO.setExpirationDate(expiryDate);
+        return ResponseEntity.ok(productService.updateProduct(productDTO, imageFile));
     }
 
 
@@ -85,7 +125,32 @@ public class ProductController {
 
     @PostMapping("/bulk-excel")
     public ResponseEntity<Response> createProductsBulk(@RequestParam("file") MultipartFile file) {
-        return ResponseEntity.ok(productService.bulkSaveProducts(file));
+        return ResponseEntity.ok(productImportService.bulkSaveProducts(file, ImportFormat.EXCEL));
+    }
+
+    @PostMapping("/bulk-csv")
+    public ResponseEntity<Response> createProductsBulkCsv(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(productImportService.bulkSaveProducts(file, ImportFormat.CSV));
+    }
+
+    @PostMapping("/bulk-ndjson")
+    public ResponseEntity<Response> createProductsBulkNdjson(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(productImportService.bulkSaveProducts(file, ImportFormat.NDJSON));
+    }
+
+    @GetMapping("/bulk-jobs/{jobId}")
+    public ResponseEntity<Response> getImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(productImportService.getImportJob(jobId));
+    }
+
+    @PostMapping("/bulk-jobs/{jobId}/retry")
+    public ResponseEntity<Response> retryImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(productImportService.retryImportJob(jobId));
+    }
+
+    @DeleteMapping("/bulk-jobs/{jobId}")
+    public ResponseEntity<Response> cancelImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(productImportService.cancelImportJob(jobId));
     }
 
     @GetMapping("/totalProducts")
@@ -93,4 +158,36 @@ public class ProductController {
         return ResponseEntity.ok(productService.getTotalProducts());
     }
 
+    @GetMapping("/expiring")
+    public ResponseEntity<Response> getExpiringProducts(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "false") boolean includeExpired
+    ) {
+        return ResponseEntity.ok(expiryService.getExpiringProducts(days, includeExpired));
+    }
+
+    @GetMapping("/{id}/stock-as-of")
+    public ResponseEntity<Response> getStockAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return ResponseEntity.ok(stockLedgerService.getStockAsOf(id, at));
+    }
+
+    @GetMapping("/export/csv")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    public void exportProductsCsv(HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv; charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"products.csv\"");
+        productExportService.exportCsv(response.getOutputStream());
+    }
+
+    @GetMapping("/export/excel")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    public void exportProductsExcel(HttpServletResponse response) throws IOException {
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader("Content-Disposition", "attachment; filename=\"products.xlsx\"");
+        productExportService.exportExcel(response.getOutputStream());
+    }
+
 }
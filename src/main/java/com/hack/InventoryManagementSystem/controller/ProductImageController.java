@@ -0,0 +1,27 @@
+package com.hack.InventoryManagementSystem.controller;
+
+import com.hack.InventoryManagementSystem.services.ProductImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/products/images")
+@RequiredArgsConstructor
+public class ProductImageController {
+
+    private final ProductImageService productImageService;
+
+    @GetMapping("/{fileName:.+}")
+    public void getImage(
+            @PathVariable String fileName,
+            @RequestParam(defaultValue = "false") boolean thumbnail,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        productImageService.serveImage(fileName, thumbnail, request, response);
+    }
+}
@@ -0,0 +1,37 @@
+package com.hack.InventoryManagementSystem.controller;
+
+import com.hack.InventoryManagementSystem.dto.ReservationRequest;
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.services.ReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping
+    public ResponseEntity<Response> reserve(@RequestBody @Valid ReservationRequest reservationRequest) {
+        return ResponseEntity.ok(reservationService.reserve(reservationRequest));
+    }
+
+    @PostMapping("/{reservationId}/commit")
+    public ResponseEntity<Response> commit(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.commit(reservationId));
+    }
+
+    @DeleteMapping("/{reservationId}")
+    public ResponseEntity<Response> release(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.release(reservationId));
+    }
+
+    @GetMapping("/available/{productId}")
+    public ResponseEntity<Response> getAvailable(@PathVariable Long productId) {
+        return ResponseEntity.ok(reservationService.getAvailable(productId));
+    }
+}
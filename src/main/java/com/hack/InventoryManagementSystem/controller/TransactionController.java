@@ -1,29 +1,57 @@
 package com.hack.InventoryManagementSystem.controller;
 
+import com.hack.InventoryManagementSystem.dto.BasketRequest;
 import com.hack.InventoryManagementSystem.dto.Response;
 import com.hack.InventoryManagementSystem.dto.TransactionsRequest;
 import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.services.IdempotencyService;
+import com.hack.InventoryManagementSystem.services.TransactionRollupService;
 import com.hack.InventoryManagementSystem.services.TransactionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/transactions")
 @RequiredArgsConstructor
 public class TransactionController {
 
+    //retried requests carrying the same key get the first Response back instead of running again
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionRollupService transactionRollupService;
 
     @PostMapping("/purchase")
-    public ResponseEntity<Response> purchaseInventory(@RequestBody @Valid TransactionsRequest transactionsRequest) {
-        return ResponseEntity.ok(transactionService.restockInventory(transactionsRequest));
+    public ResponseEntity<Response> purchaseInventory(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid TransactionsRequest transactionsRequest) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "purchase", transactionsRequest,
+                () -> transactionService.restockInventory(transactionsRequest)));
     }
 
     @PostMapping("/sell")
-    public ResponseEntity<Response> sell(@RequestBody @Valid TransactionsRequest transactionsRequest) {
-        return ResponseEntity.ok(transactionService.sell(transactionsRequest));
+    public ResponseEntity<Response> sell(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid TransactionsRequest transactionsRequest) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "sell", transactionsRequest,
+                () -> transactionService.sell(transactionsRequest)));
+    }
+
+    //207 when only some lines were applied, 409 when none were
+    @PostMapping("/basket")
+    public ResponseEntity<Response> basket(@RequestBody @Valid BasketRequest basketRequest) {
+        Response response = transactionService.processBasket(basketRequest);
+        return ResponseEntity.status(response.getStatus()).body(response);
     }
 
     @PostMapping("/return")
@@ -34,10 +62,48 @@ public class TransactionController {
     @GetMapping("/all")
     public ResponseEntity<Response> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "1000") int size,
-            @RequestParam(required = false) String searchText
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String searchText,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "false") boolean includeTotals
+    ) {
+        return ResponseEntity.ok(transactionService.getAllTransactions(page, size, searchText, beforeId, includeTotals));
+    }
+
+    @PostMapping("/search-index/rebuild")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    public ResponseEntity<Response> rebuildSearchIndex() {
+        return ResponseEntity.accepted().body(transactionService.rebuildSearchIndex());
+    }
+
+    @GetMapping("/rollups/daily")
+    public ResponseEntity<Response> getDailyRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId
     ) {
-        return ResponseEntity.ok(transactionService.getAllTransactions(page, size, searchText));
+        return ResponseEntity.ok(transactionRollupService.getDailyRollups(from, to, productId));
+    }
+
+    @GetMapping("/rollups/totals")
+    public ResponseEntity<Response> getRollupTotals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId
+    ) {
+        return ResponseEntity.ok(transactionRollupService.getRollupTotals(from, to, productId));
+    }
+
+    @PostMapping("/archive")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    public ResponseEntity<Response> archiveTransactions() {
+        return ResponseEntity.accepted().body(transactionService.archiveTransactions());
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    public ResponseEntity<Response> rebuildRollups() {
+        return ResponseEntity.accepted().body(transactionRollupService.rebuildRollups());
     }
 
     @GetMapping("/{id}")
@@ -46,11 +112,14 @@ public class TransactionController {
     }
 
     @GetMapping("/by-month-year")
-    public ResponseEntity<Response> getAllTransactionsByMonthAndYear(
+    public void getAllTransactionsByMonthAndYear(
             @RequestParam int month,
-            @RequestParam int year
-    ) {
-        return ResponseEntity.ok(transactionService.getAllTransactionsByMonthAndYear(month, year));
+            @RequestParam int year,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        transactionService.streamTransactionsByMonthAndYear(month, year, response.getOutputStream());
     }
 
     @PutMapping("/update/{transactionId}")
@@ -63,9 +132,11 @@ public class TransactionController {
 
     @PostMapping("/return-sale/{saleId}")
     public ResponseEntity<Response> returnSale(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @PathVariable Long saleId,
             @RequestBody TransactionsRequest request) {
-        return ResponseEntity.ok(transactionService.returnSaleTransaction(request, saleId));
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "return-sale/" + saleId, request,
+                () -> transactionService.returnSaleTransaction(request, saleId)));
     }
 
 
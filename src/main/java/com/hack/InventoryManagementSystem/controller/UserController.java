@@ -38,6 +38,15 @@ public class UserController {
         return ResponseEntity.ok(userService.getUserTransaction(userId));
     }
 
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<Response> getUserTransactions(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(userService.getUserTransactions(id, beforeId, size));
+    }
+
     @GetMapping("/current")
     public ResponseEntity<User> getCurrentUser() {
         return ResponseEntity.ok(userService.getCurrentLoggedInUser());
@@ -0,0 +1,30 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BasketLine {
+
+    @NotNull(message = "Product id is required")
+    @Positive(message = "Product id is required")
+    private Long productId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity is required")
+    private Integer quantity;
+
+    //SALE or PURCHASE
+    @NotNull(message = "Transaction type is required")
+    private TransactionType transactionType;
+
+    private String description;
+}
@@ -0,0 +1,21 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BasketLineResult {
+    private int line;
+    private Long productId;
+    private TransactionType transactionType;
+    private boolean applied;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BasketRequest {
+
+    @NotEmpty(message = "Basket lines are required")
+    @Valid
+    private List<BasketLine> lines;
+
+    //required when the basket has PURCHASE lines
+    private Long supplierId;
+
+    private String description;
+}
@@ -0,0 +1,9 @@
+package com.hack.InventoryManagementSystem.dto;
+
+public interface CategoryStockSummary {
+    String getCategoryName();
+
+    long getProductCount();
+
+    long getTotalStock();
+}
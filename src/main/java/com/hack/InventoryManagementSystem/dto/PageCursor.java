@@ -0,0 +1,27 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+//opaque keyset cursor handed to clients; it only wraps the last id of the previous page
+public final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    public static String encode(Long id) {
+        if (id == null) return null;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("id:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith("id:")) throw new IllegalArgumentException("Invalid cursor");
+            return Long.parseLong(value.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hack.InventoryManagementSystem.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductImportJobDTO {
+    private Long id;
+    private ImportJobStatus status;
+    private String fileName;
+    private int rowsProcessed;
+    private int successCount;
+    private int errorCount;
+    private double rowsPerSecond;
+    private String message;
+    private List<String> errors;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime createdAt;
+}
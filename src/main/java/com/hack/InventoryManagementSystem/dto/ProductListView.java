@@ -0,0 +1,22 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import java.math.BigDecimal;
+
+//list-view columns only, read straight from the query without loading Product entities
+public interface ProductListView {
+    Long getId();
+
+    String getName();
+
+    String getSku();
+
+    BigDecimal getPrice();
+
+    Integer getStockQuantity();
+
+    String getImageUrl();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+}
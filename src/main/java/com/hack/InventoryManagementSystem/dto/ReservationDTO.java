@@ -0,0 +1,21 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservationDTO {
+    private String id;
+    private Long productId;
+    private Integer quantity;
+    private Instant expiresAt;
+    //stock minus every live hold, including this one
+    private Integer availableQuantity;
+}
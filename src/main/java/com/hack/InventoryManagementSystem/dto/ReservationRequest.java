@@ -0,0 +1,27 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReservationRequest {
+
+    @NotNull(message = "Product id is required")
+    @Positive(message = "Product id is required")
+    private Long productId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity is required")
+    private Integer quantity;
+
+    //optional, defaults to inventory.reservation.default-ttl-seconds
+    @Positive(message = "Ttl must be positive")
+    private Integer ttlSeconds;
+}
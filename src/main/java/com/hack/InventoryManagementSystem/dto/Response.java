@@ -7,6 +7,7 @@ import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -22,6 +23,7 @@ public class Response {
     //for pagination
     private Integer totalPages;
     private Long totalElements;
+    private String nextCursor;
     //data output options
     private UserDTO user;
     private List<UserDTO> users;
@@ -37,7 +39,13 @@ public class Response {
 
     private TransactionDTO transaction;
     private List<TransactionDTO> transactions;
+    private List<BasketLineResult> basketLines;
+    private List<TransactionRollupDTO> rollups;
     private ProductSummaryDTO summary;
+    private ProductImportJobDTO importJob;
+    private Map<String, CacheStatsDTO> cacheStats;
+    private ReservationDTO reservation;
+    private StockAsOfDTO stockAsOf;
 
     private final LocalDateTime timestamp = LocalDateTime.now();
 }
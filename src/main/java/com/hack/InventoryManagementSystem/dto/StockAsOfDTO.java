@@ -0,0 +1,25 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockAsOfDTO {
+    private Long productId;
+    private LocalDateTime at;
+    private long stockQuantity;
+    //null when the product has been deleted since
+    private Integer currentStock;
+    //null when the answer was replayed from the first movement
+    private LocalDateTime snapshotAt;
+    private long replayedMovements;
+}
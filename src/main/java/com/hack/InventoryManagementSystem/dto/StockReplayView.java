@@ -0,0 +1,7 @@
+package com.hack.InventoryManagementSystem.dto;
+
+public interface StockReplayView {
+    Long getDelta();
+
+    Long getMovements();
+}
@@ -0,0 +1,25 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionRollupDTO {
+    //null on range totals
+    private LocalDate day;
+    private TransactionType transactionType;
+    private long count;
+    private long units;
+    private BigDecimal totalPrice;
+}
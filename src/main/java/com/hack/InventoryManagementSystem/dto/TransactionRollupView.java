@@ -0,0 +1,18 @@
+package com.hack.InventoryManagementSystem.dto;
+
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface TransactionRollupView {
+    LocalDate getDay();
+
+    TransactionType getTransactionType();
+
+    Long getTxCount();
+
+    Long getUnits();
+
+    BigDecimal getTotalPrice();
+}
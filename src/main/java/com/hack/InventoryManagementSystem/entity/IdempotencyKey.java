@@ -0,0 +1,39 @@
+package com.hack.InventoryManagementSystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt"))
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //user email + ":" + the client's Idempotency-Key header
+    @Column(name = "scoped_key", unique = true, nullable = false)
+    private String scopedKey;
+
+    private String endpoint;
+
+    //SHA-256 of the request body, a retry must send the same body to get the stored result
+    @Column(length = 64)
+    private String requestHash;
+
+    private int status;
+
+    @Column(length = 1000)
+    private String message;
+
+    private final LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_expiry_date", columnList = "expiryDate"))
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
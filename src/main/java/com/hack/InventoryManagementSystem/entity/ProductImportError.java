@@ -0,0 +1,26 @@
+package com.hack.InventoryManagementSystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "product_import_errors", indexes = @Index(name = "idx_import_errors_job", columnList = "job_id"))
+public class ProductImportError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(length = 1000)
+    private String message;
+}
@@ -0,0 +1,68 @@
+package com.hack.InventoryManagementSystem.entity;
+
+import com.hack.InventoryManagementSystem.enums.ImportFormat;
+import com.hack.InventoryManagementSystem.enums.ImportJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "product_import_jobs")
+public class ProductImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private ImportFormat format;
+
+    private String fileName;
+
+    //spooled copy of the upload, kept until the job completes or is cancelled so a crashed or failed job can be resumed
+    private String filePath;
+
+    //source row number of the last row included in a committed chunk
+    private int lastCommittedRow;
+
+    private int rowsProcessed;
+
+    private int successCount;
+
+    private int errorCount;
+
+    private String message;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private LocalDateTime updatedAt;
+
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    @Override
+    public String toString() {
+        return "ProductImportJob{" +
+                "id=" + id +
+                ", status=" + status +
+                ", format=" + format +
+                ", fileName='" + fileName + '\'' +
+                ", lastCommittedRow=" + lastCommittedRow +
+                ", rowsProcessed=" + rowsProcessed +
+                ", successCount=" + successCount +
+                ", errorCount=" + errorCount +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.hack.InventoryManagementSystem.entity;
+
+import com.hack.InventoryManagementSystem.enums.StockMovementType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+//one row per stock delta, insert only; product_id has no foreign key so the history outlives a deleted product
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_product_id_id", columnList = "productId, id"),
+        @Index(name = "idx_stock_movements_created_at", columnList = "createdAt"),
+        @Index(name = "idx_stock_movements_product_id_type", columnList = "productId, movementType")
+})
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    private int delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StockMovementType movementType;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
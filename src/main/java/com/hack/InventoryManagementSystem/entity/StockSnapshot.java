@@ -0,0 +1,36 @@
+package com.hack.InventoryManagementSystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+//stock of a product after every movement up to lastMovementId; takenAt is the newest createdAt among those movements
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "stock_snapshots", indexes = {
+        @Index(name = "idx_stock_snapshots_product_id_last_movement_id", columnList = "productId, lastMovementId"),
+        @Index(name = "idx_stock_snapshots_last_movement_id", columnList = "lastMovementId")
+})
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    private long stockQuantity;
+
+    private long lastMovementId;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -16,7 +16,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_status", columnList = "status"),
+        @Index(name = "idx_transactions_created_at", columnList = "createdAt"),
+        @Index(name = "idx_transactions_user_id_id", columnList = "user_id, id")
+})
 public class Transaction {
 
     @Id
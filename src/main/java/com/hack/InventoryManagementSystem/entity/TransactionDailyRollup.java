@@ -0,0 +1,48 @@
+package com.hack.InventoryManagementSystem.entity;
+
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+//running totals per day x product x type, kept in step with the transactions table by upserts
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "transaction_daily_rollups")
+public class TransactionDailyRollup {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "tx_count")
+    private long txCount;
+
+    private long units;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate day;
+
+        @Column(name = "product_id")
+        private Long productId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(length = 32)
+        private TransactionType transactionType;
+    }
+}
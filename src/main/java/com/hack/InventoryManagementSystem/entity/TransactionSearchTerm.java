@@ -0,0 +1,36 @@
+package com.hack.InventoryManagementSystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+//one row per (trigram, transaction); the primary key doubles as the posting list of each term, newest id last
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "transaction_search_terms", indexes = {
+        @Index(name = "idx_transaction_search_terms_transaction_id", columnList = "transaction_id")
+})
+public class TransactionSearchTerm {
+
+    @EmbeddedId
+    private Key key;
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        @Column(length = 3, nullable = false)
+        private String term;
+
+        @Column(name = "transaction_id", nullable = false)
+        private Long transactionId;
+    }
+}
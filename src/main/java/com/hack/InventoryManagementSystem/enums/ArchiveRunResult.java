@@ -0,0 +1,5 @@
+package com.hack.InventoryManagementSystem.enums;
+
+public enum ArchiveRunResult {
+    COMPLETED, ALREADY_RUNNING, FAILED
+}
@@ -0,0 +1,5 @@
+package com.hack.InventoryManagementSystem.enums;
+
+public enum ImportFormat {
+    EXCEL, CSV, NDJSON
+}
@@ -0,0 +1,5 @@
+package com.hack.InventoryManagementSystem.enums;
+
+public enum StockMovementType {
+    OPENING_BALANCE, PRODUCT_CREATED, PRODUCT_UPDATED, PRODUCT_DELETED, PURCHASE, SALE, RETURN_TO_SUPPLIER, RETURN
+}
@@ -0,0 +1,12 @@
+package com.hack.InventoryManagementSystem.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+//before is null for a new product, after is null for a deleted one
+@Data
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private ProductSnapshot before;
+    private ProductSnapshot after;
+}
@@ -0,0 +1,39 @@
+package com.hack.InventoryManagementSystem.events;
+
+import com.hack.InventoryManagementSystem.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+//immutable copy of the product fields that in-memory views care about, taken at the time of the change
+@Data
+@AllArgsConstructor
+@Builder
+public class ProductSnapshot {
+    private Long id;
+    private String name;
+    private String sku;
+    private BigDecimal price;
+    private int stockQuantity;
+    private String description;
+    private LocalDateTime expiryDate;
+    private Long categoryId;
+    private String categoryName;
+
+    public static ProductSnapshot of(Product product) {
+        return ProductSnapshot.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .sku(product.getSku())
+                .price(product.getPrice())
+                .stockQuantity(product.getStockQuantity() != null ? product.getStockQuantity() : 0)
+                .description(product.getDescription())
+                .expiryDate(product.getExpiryDate())
+                .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
+                .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.hack.InventoryManagementSystem.events;
+
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+//published for stock movements that do not go through a product update, e.g. sales and purchases
+@Data
+@AllArgsConstructor
+public class StockChangedEvent {
+    private Long productId;
+    private String categoryName;
+    private int delta;
+    //the kind of transaction that moved the stock, recorded in the stock ledger
+    private TransactionType transactionType;
+}
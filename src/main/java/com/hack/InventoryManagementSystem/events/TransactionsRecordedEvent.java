@@ -0,0 +1,14 @@
+package com.hack.InventoryManagementSystem.events;
+
+import com.hack.InventoryManagementSystem.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+//published inside the transaction that inserted the rows; ids are already assigned
+@Data
+@AllArgsConstructor
+public class TransactionsRecordedEvent {
+    private List<Transaction> transactions;
+}
@@ -0,0 +1,8 @@
+package com.hack.InventoryManagementSystem.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException{
+
+    public IdempotencyKeyReusedException(String message){
+        super((message));
+    }
+}
@@ -0,0 +1,8 @@
+package com.hack.InventoryManagementSystem.exceptions;
+
+public class OutOfStockException extends RuntimeException{
+
+    public OutOfStockException(String message){
+        super((message));
+    }
+}
@@ -0,0 +1,58 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+//decodes field values directly from byte ranges of the read buffer
+final class ByteFields {
+
+    private ByteFields() {
+    }
+
+    static String text(byte[] bytes, int start, int end) {
+        return end > start ? new String(bytes, start, end - start, StandardCharsets.UTF_8) : "";
+    }
+
+    //plain decimals ("12", "-3.50") are accumulated into an unscaled long; anything else falls back to BigDecimal's parser
+    static BigDecimal decimal(byte[] bytes, int start, int end, String field) {
+        while (start < end && bytes[start] == ' ') start++;
+        while (end > start && bytes[end - 1] == ' ') end--;
+        if (start == end) throw new IllegalArgumentException("El campo " + field + " es requerido");
+
+        int i = start;
+        boolean negative = false;
+        if (bytes[i] == '-' || bytes[i] == '+') {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                unscaled = unscaled * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) scale++;
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return slowDecimal(bytes, start, end, field);
+            }
+        }
+        if (digits == 0) throw new IllegalArgumentException("Valor inválido para " + field + ": " + text(bytes, start, end));
+        if (digits > 18) return slowDecimal(bytes, start, end, field);
+
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private static BigDecimal slowDecimal(byte[] bytes, int start, int end, String field) {
+        String value = text(bytes, start, end);
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + field + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+
+/**
+ * RFC 4180 CSV with the same column layout as the Excel importer: name, sku, price, stockQuantity, description,
+ * categoryId. The first line is the header. Quoted fields are unescaped in place inside the read buffer.
+ */
+public class CsvProductReader extends RecordChannelReader {
+
+    private static final int COLUMNS = 6;
+
+    private final int[] starts = new int[COLUMNS];
+    private final int[] ends = new int[COLUMNS];
+
+    @Override
+    protected int findRecordEnd(byte[] bytes, int from, int limit) {
+        boolean quoted = false;
+        int newlines = 0;
+        for (int i = from; i < limit; i++) {
+            byte b = bytes[i];
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == '\n') {
+                if (!quoted) {
+                    extraLines = newlines;
+                    return i;
+                }
+                newlines++;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    protected void handleRecord(byte[] bytes, int start, int end, int lineNumber, ProductRowHandler handler) {
+        if (lineNumber == 1) return;
+
+        int fields = split(bytes, start, end);
+        for (int i = fields; i < COLUMNS; i++) {
+            starts[i] = 0;
+            ends[i] = 0;
+        }
+
+        ProductDTO dto = new ProductDTO();
+        dto.setName(ByteFields.text(bytes, starts[0], ends[0]));
+        dto.setSku(ByteFields.text(bytes, starts[1], ends[1]));
+        dto.setPrice(ByteFields.decimal(bytes, starts[2], ends[2], "price"));
+        dto.setStockQuantity(ByteFields.decimal(bytes, starts[3], ends[3], "stockQuantity").intValue());
+        dto.setDescription(ByteFields.text(bytes, starts[4], ends[4]));
+        dto.setCategoryId(ByteFields.decimal(bytes, starts[5], ends[5], "categoryId").longValue());
+        handler.onRow(lineNumber, dto);
+    }
+
+    //records the byte range of each field; quoted fields are rewritten in place with "" collapsed to "
+    private int split(byte[] bytes, int start, int end) {
+        int field = 0;
+        int p = start;
+        while (p <= end && field < COLUMNS) {
+            if (p < end && bytes[p] == '"') {
+                int read = p + 1;
+                int write = p + 1;
+                while (read < end) {
+                    if (bytes[read] == '"') {
+                        if (read + 1 < end && bytes[read + 1] == '"') {
+                            bytes[write++] = '"';
+                            read += 2;
+                            continue;
+                        }
+                        read++;
+                        break;
+                    }
+                    bytes[write++] = bytes[read++];
+                }
+                starts[field] = p + 1;
+                ends[field] = write;
+                while (read < end && bytes[read] != ',') read++;
+                p = read + 1;
+            } else {
+                int read = p;
+                while (read < end && bytes[read] != ',') read++;
+                starts[field] = p;
+                ends[field] = read;
+                p = read + 1;
+            }
+            field++;
+        }
+        return field;
+    }
+}
@@ -0,0 +1,188 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.InputStream;
+import java.math.BigDecimal;
+
+/**
+ * Streams the first sheet of an .xlsx file through POI's event model, so only the current row is kept on heap.
+ * Column layout: name, sku, price, stockQuantity, description, categoryId. The first row is the header.
+ */
+public class ExcelProductReader implements ProductFileReader {
+
+    private static final int COLUMNS = 6;
+
+    @Override
+    public void read(File file, ProductRowHandler handler) throws Exception {
+        //opening from a File lets POI use random zip access instead of inflating every part into memory
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) return;
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(sharedStrings, handler));
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final ProductRowHandler handler;
+
+        private final String[] values = new String[COLUMNS];
+        private final boolean[] numeric = new boolean[COLUMNS];
+        private final StringBuilder text = new StringBuilder();
+
+        private int rowNumber;
+        private int nextRowNumber = 1;
+        private int column = -1;
+        private String cellType;
+        private boolean collecting;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, ProductRowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowNumber = r != null ? Integer.parseInt(r) : nextRowNumber;
+                    nextRowNumber = rowNumber + 1;
+                    for (int i = 0; i < COLUMNS; i++) {
+                        values[i] = null;
+                        numeric[i] = false;
+                    }
+                }
+                case "c" -> {
+                    column = columnIndex(attributes.getValue("r"), column + 1);
+                    cellType = attributes.getValue("t");
+                }
+                case "v", "t" -> {
+                    if (column >= 0 && column < COLUMNS) {
+                        collecting = true;
+                        text.setLength(0);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) text.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v", "t" -> {
+                    if (collecting) {
+                        storeCell();
+                        collecting = false;
+                    }
+                }
+                case "row" -> {
+                    emitRow();
+                    column = -1;
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void storeCell() {
+            String raw = text.toString();
+            if ("s".equals(cellType)) {
+                values[column] = sharedStrings.getItemAt(Integer.parseInt(raw.trim())).getString();
+            } else if ("inlineStr".equals(cellType) || "str".equals(cellType)) {
+                //inline strings may be split across several <t> runs
+                values[column] = values[column] == null ? raw : values[column] + raw;
+            } else if ("b".equals(cellType)) {
+                values[column] = "1".equals(raw) ? "true" : "false";
+            } else if ("e".equals(cellType)) {
+                values[column] = null;
+            } else {
+                //no type or "n": the stored text is the exact numeric literal, keep it without a double round-trip
+                values[column] = raw;
+                numeric[column] = true;
+            }
+        }
+
+        private void emitRow() {
+            if (rowNumber <= 1 || isBlankRow()) return;
+
+            try {
+                ProductDTO dto = new ProductDTO();
+                dto.setName(text(0));
+                dto.setSku(text(1));
+                dto.setPrice(decimal(2, "price"));
+                dto.setStockQuantity(decimal(3, "stockQuantity").intValue());
+                dto.setDescription(text(4));
+                dto.setCategoryId(decimal(5, "categoryId").longValue());
+                handler.onRow(rowNumber, dto);
+            } catch (Exception e) {
+                handler.onError(rowNumber, e.getMessage());
+            }
+        }
+
+        private boolean isBlankRow() {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) return false;
+            }
+            return true;
+        }
+
+        private String text(int col) {
+            String value = values[col];
+            if (value == null) return "";
+            if (numeric[col]) {
+                //a numeric SKU such as 12345 must not come back as "12345.0"
+                return new BigDecimal(value.trim()).stripTrailingZeros().toPlainString();
+            }
+            return value;
+        }
+
+        private BigDecimal decimal(int col, String field) {
+            String value = values[col];
+            if (value == null || value.isBlank()) throw new IllegalArgumentException("El campo " + field + " es requerido");
+            try {
+                return new BigDecimal(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido para " + field + ": " + value);
+            }
+        }
+
+        //"B12" -> 1; falls back to the next position when the cell omits its reference
+        private static int columnIndex(String ref, int fallback) {
+            if (ref == null) return fallback;
+            int index = 0;
+            for (int i = 0; i < ref.length(); i++) {
+                char c = ref.charAt(i);
+                if (c < 'A' || c > 'Z') break;
+                index = index * 26 + (c - 'A' + 1);
+            }
+            return index - 1;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * One JSON object per line with the keys name, sku, price, stockQuantity (or stock), description and categoryId.
+ * Each line is parsed by Jackson directly from its byte range, so a malformed line only fails that row.
+ */
+public class NdjsonProductReader extends RecordChannelReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Override
+    protected void handleRecord(byte[] bytes, int start, int end, int lineNumber, ProductRowHandler handler) throws IOException {
+        ProductDTO dto = new ProductDTO();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(bytes, start, end - start)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Se esperaba un objeto JSON");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) continue;
+
+                switch (field) {
+                    case "name" -> dto.setName(parser.getText());
+                    case "sku" -> dto.setSku(parser.getText());
+                    case "price" -> dto.setPrice(decimal(parser, value, field));
+                    case "stockQuantity", "stock" -> dto.setStockQuantity(decimal(parser, value, field).intValue());
+                    case "description" -> dto.setDescription(parser.getText());
+                    case "categoryId" -> dto.setCategoryId(decimal(parser, value, field).longValue());
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (dto.getPrice() == null) throw new IllegalArgumentException("El campo price es requerido");
+        if (dto.getStockQuantity() == null) throw new IllegalArgumentException("El campo stockQuantity es requerido");
+        if (dto.getCategoryId() == null) throw new IllegalArgumentException("El campo categoryId es requerido");
+        handler.onRow(lineNumber, dto);
+    }
+
+    private BigDecimal decimal(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDecimalValue();
+        }
+        try {
+            return new BigDecimal(parser.getText().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + field + ": " + parser.getText());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+import com.hack.InventoryManagementSystem.entity.Category;
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.events.ProductChangedEvent;
+import com.hack.InventoryManagementSystem.events.ProductSnapshot;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Persists one chunk of imported rows in a single transaction: one locking IN query resolves every SKU of the chunk,
+ * updates go out through Hibernate's JDBC batching and new products through one JDBC batch insert.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChunkWriter {
+
+    private static final String INSERT_PRODUCT_SQL = "INSERT INTO products " +
+            "(name, sku, price, stock_quantity, description, category_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //returns the number of rows applied; rejected rows are appended to errors
+    @Transactional
+    public int writeChunk(List<ProductImportRow> rows, Map<Long, Category> categories, List<String> errors) {
+        List<ProductImportRow> validRows = new ArrayList<>(rows.size());
+        Set<String> skus = new HashSet<>();
+
+        for (ProductImportRow row : rows) {
+            ProductDTO dto = row.getProduct();
+            try {
+                // Validaciones básicas
+                if (dto.getName() == null || dto.getName().isBlank()) throw new IllegalArgumentException("El nombre es requerido");
+                if (dto.getSku() == null || dto.getSku().isBlank()) throw new IllegalArgumentException("El SKU es requerido");
+                if (!categories.containsKey(dto.getCategoryId())) {
+                    throw new IllegalArgumentException("Categoría no encontrada para el producto: " + dto.getName());
+                }
+                validRows.add(row);
+                skus.add(dto.getSku());
+            } catch (Exception e) {
+                errors.add("Error en línea " + row.getRowNumber() + ": " + e.getMessage());
+            }
+        }
+        if (validRows.isEmpty()) return 0;
+
+        Map<String, Product> existingBySku = new HashMap<>();
+        Map<String, ProductSnapshot> before = new HashMap<>();
+        //SELECT ... FOR UPDATE: a sale committing between this read and the flush would otherwise be overwritten
+        for (Product product : productRepository.findBySkuIn(skus)) {
+            existingBySku.put(product.getSku(), product);
+            before.put(product.getSku(), ProductSnapshot.of(product));
+        }
+
+        //a SKU repeated inside the chunk is merged in file order, exactly as row-by-row processing would do
+        Map<String, Product> newBySku = new LinkedHashMap<>();
+        for (ProductImportRow row : validRows) {
+            ProductDTO dto = row.getProduct();
+            Category category = categories.get(dto.getCategoryId());
+            Product target = existingBySku.containsKey(dto.getSku()) ? existingBySku.get(dto.getSku()) : newBySku.get(dto.getSku());
+
+            if (target != null) {
+                // Actualizar producto existente
+                target.setName(dto.getName());
+                target.setPrice(dto.getPrice());
+                target.setStockQuantity(target.getStockQuantity() + dto.getStockQuantity());
+                target.setDescription(dto.getDescription());
+                target.setCategory(category);
+            } else {
+                // Crear nuevo producto
+                newBySku.put(dto.getSku(), Product.builder()
+                        .name(dto.getName())
+                        .sku(dto.getSku())
+                        .price(dto.getPrice())
+                        .stockQuantity(dto.getStockQuantity())
+                        .description(dto.getDescription())
+                        .category(category)
+                        .build());
+            }
+        }
+
+        //existing products are managed entities, dirty checking flushes them as batched updates on commit
+        insertProducts(new ArrayList<>(newBySku.values()));
+
+        //listeners run after the chunk commits
+        existingBySku.values().forEach(product -> eventPublisher.publishEvent(
+                new ProductChangedEvent(before.get(product.getSku()), ProductSnapshot.of(product))));
+        newBySku.values().forEach(product -> eventPublisher.publishEvent(
+                new ProductChangedEvent(null, ProductSnapshot.of(product))));
+        return validRows.size();
+    }
+
+    private void insertProducts(List<Product> products) {
+        if (products.isEmpty()) return;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_PRODUCT_SQL, Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Product product = products.get(i);
+                ps.setString(1, product.getName());
+                ps.setString(2, product.getSku());
+                ps.setBigDecimal(3, product.getPrice());
+                ps.setInt(4, product.getStockQuantity());
+                ps.setString(5, product.getDescription());
+                ps.setLong(6, product.getCategory().getId());
+                ps.setTimestamp(7, Timestamp.valueOf(LocalDateTime.now()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        }, keyHolder);
+
+        //ids are needed by the listeners that index new products
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < products.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            products.get(i).setId(((Number) key).longValue());
+        }
+    }
+}
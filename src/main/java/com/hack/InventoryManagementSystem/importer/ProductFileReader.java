@@ -0,0 +1,8 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import java.io.File;
+
+public interface ProductFileReader {
+
+    void read(File file, ProductRowHandler handler) throws Exception;
+}
@@ -0,0 +1,14 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductImportRow {
+
+    private int rowNumber;
+
+    private ProductDTO product;
+}
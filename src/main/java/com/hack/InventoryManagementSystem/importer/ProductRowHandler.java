@@ -0,0 +1,11 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+
+public interface ProductRowHandler {
+
+    //rowNumber is the 1-based line of the source file, so error messages point at what the user sees
+    void onRow(int rowNumber, ProductDTO row);
+
+    void onError(int rowNumber, String message);
+}
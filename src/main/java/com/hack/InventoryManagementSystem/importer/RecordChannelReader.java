@@ -0,0 +1,81 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads newline-terminated records straight out of a FileChannel into one reusable byte buffer.
+ * Subclasses get each record as a byte range of that buffer and decode fields in place, so no String is built per line.
+ */
+abstract class RecordChannelReader implements ProductFileReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    //lines spanned by the last record beyond its first one (quoted CSV fields may contain newlines)
+    protected int extraLines;
+
+    @Override
+    public void read(File file, ProductRowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            int lineNumber = 1;
+            boolean start = true;
+            boolean eof = false;
+
+            while (!eof) {
+                eof = channel.read(buffer) < 0;
+                byte[] bytes = buffer.array();
+                int limit = buffer.position();
+                int pos = 0;
+
+                if (start && (limit >= 3 || eof)) {
+                    if (limit >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) pos = 3;
+                    start = false;
+                }
+
+                while (!start && pos < limit) {
+                    extraLines = 0;
+                    int end = findRecordEnd(bytes, pos, limit);
+                    if (end < 0) {
+                        if (!eof) break;
+                        end = limit;
+                    }
+                    int recordEnd = end > pos && bytes[end - 1] == '\r' ? end - 1 : end;
+                    if (recordEnd > pos) {
+                        try {
+                            handleRecord(bytes, pos, recordEnd, lineNumber, handler);
+                        } catch (Exception e) {
+                            handler.onError(lineNumber, e.getMessage());
+                        }
+                    }
+                    lineNumber += 1 + extraLines;
+                    pos = end + 1;
+                }
+
+                //keep the partial record at the head of the buffer, growing it when one record fills it completely
+                buffer.flip();
+                buffer.position(Math.min(pos, limit));
+                if (pos == 0 && buffer.limit() == buffer.capacity()) {
+                    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    larger.put(buffer);
+                    buffer = larger;
+                } else {
+                    buffer.compact();
+                }
+            }
+        }
+    }
+
+    //index of the '\n' ending the record that starts at from, or -1 if the buffer holds no complete record
+    protected int findRecordEnd(byte[] bytes, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (bytes[i] == '\n') return i;
+        }
+        return -1;
+    }
+
+    protected abstract void handleRecord(byte[] bytes, int start, int end, int lineNumber, ProductRowHandler handler) throws Exception;
+}
@@ -0,0 +1,10 @@
+package com.hack.InventoryManagementSystem.repository;
+
+import com.hack.InventoryManagementSystem.entity.ProductImportError;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ProductImportErrorRepository extends JpaRepository<ProductImportError, Long> {
+    List<ProductImportError> findByJobIdOrderByIdAsc(Long jobId);
+}
@@ -0,0 +1,22 @@
+package com.hack.InventoryManagementSystem.repository;
+
+import com.hack.InventoryManagementSystem.entity.ProductImportJob;
+import com.hack.InventoryManagementSystem.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductImportJobRepository extends JpaRepository<ProductImportJob, Long> {
+    List<ProductImportJob> findByStatusInOrderByIdAsc(Collection<ImportJobStatus> statuses);
+
+    //compare-and-set on the status, so two concurrent retries or cancels cannot both win
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductImportJob j SET j.status = :to WHERE j.id = :id AND j.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") ImportJobStatus from, @Param("to") ImportJobStatus to);
+}
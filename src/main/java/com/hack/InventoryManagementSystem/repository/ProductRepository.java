@@ -1,10 +1,72 @@
 package com.hack.InventoryManagementSystem.repository;
 
+import com.hack.InventoryManagementSystem.dto.CategoryStockSummary;
+import com.hack.InventoryManagementSystem.dto.ProductListView;
 import com.hack.InventoryManagementSystem.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    //SELECT ... FOR UPDATE, for read-modify-write of a whole product row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Product> findForUpdateById(Long id);
+
     Optional<Product> findBySku(String sku);
+
+    //locked: the caller adds to stock_quantity, which must not race with the atomic sale updates
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "category")
+    List<Product> findBySkuIn(Collection<String> skus);
+
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT c.name AS categoryName, COUNT(p) AS productCount, COALESCE(SUM(p.stockQuantity), 0) AS totalStock " +
+            "FROM Product p JOIN p.category c GROUP BY c.name")
+    List<CategoryStockSummary> summarizeByCategory();
+
+    //keyset page, newest first: pass the last id of the previous page as afterId (null for the first page)
+    @Query("SELECT p.id AS id, p.name AS name, p.sku AS sku, p.price AS price, p.stockQuantity AS stockQuantity, " +
+            "p.imageUrl AS imageUrl, c.id AS categoryId, c.name AS categoryName " +
+            "FROM Product p LEFT JOIN p.category c " +
+            "WHERE (:afterId IS NULL OR p.id < :afterId) ORDER BY p.id DESC")
+    List<ProductListView> findListPage(@Param("afterId") Long afterId, Limit limit);
+
+    //conditional decrement: 0 rows updated means the product is missing or cannot cover :quantity on top of the
+    //:reserved units held by live reservations
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity WHERE p.id = :id AND p.stockQuantity >= :quantity + :reserved")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("reserved") int reserved);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    //range scan on idx_products_expiry_date: only the products expiring in [from, to) are read
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p WHERE p.expiryDate >= :from AND p.expiryDate < :to ORDER BY p.expiryDate")
+    List<Product> findExpiringBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    //Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one instead of buffering the whole result set;
+    //must be consumed inside a read-only transaction
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category ORDER BY p.id")
+    Stream<Product> streamAllForExport();
 }
@@ -0,0 +1,17 @@
+package com.hack.InventoryManagementSystem.repository;
+
+import com.hack.InventoryManagementSystem.dto.StockReplayView;
+import com.hack.InventoryManagementSystem.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    //the movements after a snapshot, on idx_stock_movements_product_id_id
+    @Query("SELECT COALESCE(SUM(m.delta), 0) AS delta, COUNT(m) AS movements FROM StockMovement m " +
+            "WHERE m.productId = :productId AND m.id > :afterId AND m.createdAt <= :at")
+    StockReplayView replay(@Param("productId") Long productId, @Param("afterId") long afterId, @Param("at") LocalDateTime at);
+}
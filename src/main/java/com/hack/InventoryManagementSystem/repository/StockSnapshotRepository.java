@@ -0,0 +1,12 @@
+package com.hack.InventoryManagementSystem.repository;
+
+import com.hack.InventoryManagementSystem.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByProductIdAndTakenAtLessThanEqualOrderByLastMovementIdDesc(Long productId, LocalDateTime at);
+}
@@ -0,0 +1,26 @@
+package com.hack.InventoryManagementSystem.repository;
+
+import com.hack.InventoryManagementSystem.dto.TransactionRollupView;
+import com.hack.InventoryManagementSystem.entity.TransactionDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//both queries read a primary key range of days, at most days x products x types rows whatever the transaction volume
+public interface TransactionDailyRollupRepository extends JpaRepository<TransactionDailyRollup, TransactionDailyRollup.Key> {
+
+    @Query("SELECT r.key.day AS day, r.key.transactionType AS transactionType, SUM(r.txCount) AS txCount, " +
+            "SUM(r.units) AS units, SUM(r.totalPrice) AS totalPrice FROM TransactionDailyRollup r " +
+            "WHERE r.key.day >= :from AND r.key.day <= :to AND (:productId IS NULL OR r.key.productId = :productId) " +
+            "GROUP BY r.key.day, r.key.transactionType ORDER BY r.key.day, r.key.transactionType")
+    List<TransactionRollupView> findDaily(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("productId") Long productId);
+
+    @Query("SELECT r.key.transactionType AS transactionType, SUM(r.txCount) AS txCount, " +
+            "SUM(r.units) AS units, SUM(r.totalPrice) AS totalPrice FROM TransactionDailyRollup r " +
+            "WHERE r.key.day >= :from AND r.key.day <= :to AND (:productId IS NULL OR r.key.productId = :productId) " +
+            "GROUP BY r.key.transactionType ORDER BY r.key.transactionType")
+    List<TransactionRollupView> findTotals(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("productId") Long productId);
+}
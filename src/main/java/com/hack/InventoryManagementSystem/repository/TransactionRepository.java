@@ -1,19 +1,33 @@
 package com.hack.InventoryManagementSystem.repository;
 
 import com.hack.InventoryManagementSystem.entity.Transaction;
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    @Query("SELECT t FROM Transaction t " +
-            "WHERE YEAR(t.createdAt) = :year AND MONTH(t.createdAt) = :month")
-    List<Transaction> findAllByMonthAndYear(@Param("month") int month, @Param("year") int year);
+    //half-open range on idx_transactions_created_at; streamed row by row, consume inside a read-only transaction
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM Transaction t WHERE t.createdAt >= :from AND t.createdAt < :to ORDER BY t.createdAt")
+    Stream<Transaction> streamByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
 
     //we are searching these field; Transaction's description, note, status, Product's name, sku
@@ -26,4 +40,45 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             "LOWER(p.sku) LIKE LOWER(CONCAT('%', :searchText, '%')))")
     Page<Transaction> searchTransactions(@Param("searchText") String searchText, Pageable pageable);
 
+    //detail view in a single statement; the user's own transactions collection stays unloaded
+    @Query("SELECT t FROM Transaction t " +
+            "LEFT JOIN FETCH t.product p " +
+            "LEFT JOIN FETCH p.category " +
+            "LEFT JOIN FETCH t.supplier " +
+            "LEFT JOIN FETCH t.user " +
+            "WHERE t.id = :id")
+    Optional<Transaction> findDetailById(@Param("id") Long id);
+
+    //keyset slice, newest first; product and its category come in the same statement
+    @EntityGraph(attributePaths = {"product", "product.category"})
+    @Query("SELECT t FROM Transaction t WHERE (:beforeId IS NULL OR t.id < :beforeId) ORDER BY t.id DESC")
+    Slice<Transaction> findSlice(@Param("beforeId") Long beforeId, Pageable pageable);
+
+    //walks idx_transactions_user_id_id backwards from beforeId
+    @EntityGraph(attributePaths = {"product", "product.category"})
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND (:beforeId IS NULL OR t.id < :beforeId) ORDER BY t.id DESC")
+    List<Transaction> findUserHistory(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Limit limit);
+
+    //same LIKE scan without the count query, for searches too short for the trigram index
+    @Query("SELECT t FROM Transaction t " +
+            "LEFT JOIN FETCH t.product p " +
+            "LEFT JOIN FETCH p.category " +
+            "WHERE t.id < :beforeId AND (" +
+            "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
+            "LOWER(t.status) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
+            "LOWER(p.name) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +
+            "LOWER(p.sku) LIKE LOWER(CONCAT('%', :searchText, '%')))")
+    List<Transaction> searchTransactionsLike(@Param("searchText") String searchText, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"product", "product.category"})
+    List<Transaction> findWithProductByIdIn(Collection<Long> ids);
+
+    long countByStatusIn(Collection<TransactionStatus> statuses);
+
+    @EntityGraph(attributePaths = {"product", "product.category"})
+    List<Transaction> findByStatusInAndIdLessThanOrderByIdDesc(Collection<TransactionStatus> statuses, Long beforeId, Limit limit);
+
+    @EntityGraph(attributePaths = "product")
+    List<Transaction> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
 }
@@ -0,0 +1,414 @@
+package com.hack.InventoryManagementSystem.search;
+
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.events.ProductChangedEvent;
+import com.hack.InventoryManagementSystem.events.ProductSnapshot;
+import com.hack.InventoryManagementSystem.events.StockChangedEvent;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, SKU and description.
+ * <p>
+ * Terms are stored per field and match kind ("n=" exact name token, "n>" name prefix, "s~" SKU trigram, ...) with
+ * postings as plain int arrays of internal document ids. Every query token must match somewhere; the score of a
+ * document is the sum of the best field match of each token. An updated product gets a new document id and the old
+ * one is tombstoned; the index compacts itself from memory once tombstones outnumber live documents.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final int MIN_PREFIX = 2;
+    private static final int MAX_PREFIX = 12;
+    private static final int LOAD_BATCH = 1000;
+    //rough cost of checking one candidate document against a token, in postings entries
+    private static final int VERIFY_COST = 32;
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final List<SearchDoc> docs = new ArrayList<>();
+    private final Map<Long, Integer> docIdByProductId = new HashMap<>();
+    private int deletedDocs;
+
+    //products changed while the initial load runs are re-read once it finishes; replaying their events could apply
+    //a stock delta the loaded row already includes
+    private final Set<Long> pendingProductIds = new LinkedHashSet<>();
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(this::build, "product-search-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build() {
+        long started = System.currentTimeMillis();
+        try {
+            long lastId = 0;
+            int loaded = 0;
+            while (true) {
+                List<Product> batch = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH));
+                if (batch.isEmpty()) break;
+
+                lock.writeLock().lock();
+                try {
+                    for (Product product : batch) upsert(SearchDoc.of(ProductSnapshot.of(product)));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+                loaded += batch.size();
+            }
+
+            //changes keep queueing while the pending products are re-read, so repeat until nothing is left
+            while (true) {
+                List<Long> ids;
+                lock.writeLock().lock();
+                try {
+                    if (pendingProductIds.isEmpty()) {
+                        ready = true;
+                        break;
+                    }
+                    ids = new ArrayList<>(pendingProductIds);
+                    pendingProductIds.clear();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                Map<Long, Product> current = new HashMap<>();
+                productRepository.findAllById(ids).forEach(product -> current.put(product.getId(), product));
+                lock.writeLock().lock();
+                try {
+                    for (Long id : ids) {
+                        Product product = current.get(id);
+                        if (product != null) upsert(SearchDoc.of(ProductSnapshot.of(product)));
+                        else remove(id);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            log.info("Product search index built: {} products, {} terms in {} ms",
+                    loaded, postings.size(), System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Could not build the product search index", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductSnapshot product = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (product != null) applyOrQueue(event, product.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        applyOrQueue(event, event.getProductId());
+    }
+
+    private void applyOrQueue(Object event, Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else {
+                pendingProductIds.add(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof ProductChangedEvent changed) {
+            if (changed.getAfter() != null) {
+                upsert(SearchDoc.of(changed.getAfter()));
+            } else if (changed.getBefore() != null) {
+                remove(changed.getBefore().getId());
+            }
+        } else if (event instanceof StockChangedEvent stock) {
+            Integer docId = docIdByProductId.get(stock.getProductId());
+            if (docId != null) docs.get(docId).stockQuantity += stock.getDelta();
+        }
+        if (deletedDocs > 1000 && deletedDocs > docIdByProductId.size()) compact();
+    }
+
+    public SearchResult search(String query, int page, int size) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) return new SearchResult(List.of(), 0);
+
+        lock.readLock().lock();
+        try {
+            //score accumulators indexed by document id; matched[d] == k means d matched the first k tokens
+            int docCount = docs.size();
+            int[] matched = new int[docCount];
+            int[] score = new int[docCount];
+            int[] best = new int[docCount];
+            IntList touched = new IntList();
+
+            //cheapest tokens first; once few candidates are left, check them directly instead of walking long postings
+            List<String> ordered = new ArrayList<>(new LinkedHashSet<>(tokens));
+            ordered.sort(Comparator.comparingLong(this::estimateCost));
+
+            for (int k = 0; k < ordered.size(); k++) {
+                String token = ordered.get(k);
+                IntList candidates = touched;
+                touched = new IntList();
+                if (k > 0 && (long) candidates.size * VERIFY_COST < estimateCost(token)) {
+                    for (int i = 0; i < candidates.size; i++) {
+                        int docId = candidates.values[i];
+                        int weight = matchWeight(docs.get(docId), token);
+                        if (weight > 0) {
+                            best[docId] = weight;
+                            touched.add(docId);
+                        }
+                    }
+                } else {
+                    for (TermWeight term : termsFor(token)) {
+                        accumulate(postings.get(term.term), term.weight, k, matched, best, touched);
+                    }
+                    accumulateSkuSubstring(token, k, matched, best, touched);
+                }
+
+                if (touched.size == 0) return new SearchResult(List.of(), 0);
+                for (int i = 0; i < touched.size; i++) {
+                    int docId = touched.values[i];
+                    matched[docId] = k + 1;
+                    score[docId] += best[docId];
+                }
+            }
+
+            //keep only the documents needed for the requested page; a page past the last match is simply empty
+            long start = (long) page * size;
+            if (start >= touched.size) return new SearchResult(List.of(), touched.size);
+            long keep = start + size;
+            Comparator<Integer> ranking = (a, b) -> {
+                int byScore = Integer.compare(score[a], score[b]);
+                return byScore != 0 ? byScore : Long.compare(docs.get(a).id, docs.get(b).id);
+            };
+            PriorityQueue<Integer> top = new PriorityQueue<>(ranking);
+            for (int i = 0; i < touched.size; i++) {
+                top.offer(touched.values[i]);
+                if (top.size() > keep) top.poll();
+            }
+
+            List<Integer> ranked = new ArrayList<>(top);
+            ranked.sort(ranking.reversed());
+            List<SearchDoc> hits = new ArrayList<>();
+            for (int i = (int) start; i < ranked.size(); i++) hits.add(docs.get(ranked.get(i)).copy());
+            return new SearchResult(hits, touched.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long estimateCost(String token) {
+        long cost = 0;
+        for (TermWeight term : termsFor(token)) {
+            IntList list = postings.get(term.term);
+            if (list != null) cost += list.size;
+        }
+        if (token.length() >= 3) {
+            long rarest = Long.MAX_VALUE;
+            for (String gram : SearchTokenizer.trigrams(token)) {
+                IntList list = postings.get("s~" + gram);
+                rarest = Math.min(rarest, list != null ? list.size : 0);
+            }
+            cost += rarest;
+        }
+        return cost;
+    }
+
+    //same weights as the postings path, computed from the stored fields of one document
+    private int matchWeight(SearchDoc doc, String token) {
+        String prefix = token.length() > MAX_PREFIX ? token.substring(0, MAX_PREFIX) : token;
+        boolean prefixes = token.length() >= MIN_PREFIX;
+        int weight = 0;
+        for (String word : SearchTokenizer.tokenize(doc.sku)) {
+            if (word.equals(token)) weight = Math.max(weight, 10);
+            else if (prefixes && word.startsWith(prefix)) weight = Math.max(weight, 7);
+        }
+        for (String word : SearchTokenizer.tokenize(doc.name)) {
+            if (word.equals(token)) weight = Math.max(weight, 6);
+            else if (prefixes && word.startsWith(prefix)) weight = Math.max(weight, 4);
+        }
+        if (weight == 0 && token.length() >= 3 && doc.normalizedSku.contains(token)) weight = 3;
+        if (weight == 0 && SearchTokenizer.tokenize(doc.description).contains(token)) weight = 1;
+        return weight;
+    }
+
+    private List<TermWeight> termsFor(String token) {
+        List<TermWeight> terms = new ArrayList<>();
+        terms.add(new TermWeight("s=" + token, 10));
+        terms.add(new TermWeight("n=" + token, 6));
+        if (token.length() >= MIN_PREFIX) {
+            String prefix = token.length() > MAX_PREFIX ? token.substring(0, MAX_PREFIX) : token;
+            terms.add(new TermWeight("s>" + prefix, 7));
+            terms.add(new TermWeight("n>" + prefix, 4));
+        }
+        terms.add(new TermWeight("d=" + token, 1));
+        return terms;
+    }
+
+    private void accumulate(IntList list, int weight, int k, int[] matched, int[] best, IntList touched) {
+        if (list == null) return;
+        for (int i = 0; i < list.size; i++) {
+            int docId = list.values[i];
+            if (docs.get(docId) == null) continue;
+            //-k-1 marks a document already hit by an earlier term of this same token
+            if (matched[docId] == k) {
+                best[docId] = weight;
+                touched.add(docId);
+                matched[docId] = -k - 1;
+            } else if (matched[docId] == -k - 1 && weight > best[docId]) {
+                best[docId] = weight;
+            }
+        }
+    }
+
+    //substring match inside SKUs, e.g. "4512" in "ABC-4512-X": scan the rarest trigram and confirm on the stored SKU
+    private void accumulateSkuSubstring(String token, int k, int[] matched, int[] best, IntList touched) {
+        if (token.length() < 3) return;
+        IntList rarest = null;
+        for (String gram : SearchTokenizer.trigrams(token)) {
+            IntList list = postings.get("s~" + gram);
+            if (list == null) return;
+            if (rarest == null || list.size < rarest.size) rarest = list;
+        }
+        for (int i = 0; i < rarest.size; i++) {
+            int docId = rarest.values[i];
+            SearchDoc doc = docs.get(docId);
+            if (doc == null || !doc.normalizedSku.contains(token)) continue;
+            if (matched[docId] == k) {
+                best[docId] = 3;
+                touched.add(docId);
+                matched[docId] = -k - 1;
+            } else if (matched[docId] == -k - 1 && best[docId] < 3) {
+                best[docId] = 3;
+            }
+        }
+    }
+
+    private void upsert(SearchDoc doc) {
+        remove(doc.id);
+        int docId = docs.size();
+        docs.add(doc);
+        docIdByProductId.put(doc.id, docId);
+
+        Set<String> terms = new HashSet<>();
+        for (String token : SearchTokenizer.tokenize(doc.name)) {
+            terms.add("n=" + token);
+            addPrefixes(terms, "n>", token);
+        }
+        for (String token : SearchTokenizer.tokenize(doc.sku)) {
+            terms.add("s=" + token);
+            addPrefixes(terms, "s>", token);
+        }
+        for (String gram : SearchTokenizer.trigrams(doc.normalizedSku)) {
+            terms.add("s~" + gram);
+        }
+        for (String token : SearchTokenizer.tokenize(doc.description)) {
+            terms.add("d=" + token);
+        }
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> new IntList()).add(docId);
+        }
+    }
+
+    private void remove(Long productId) {
+        Integer docId = docIdByProductId.remove(productId);
+        if (docId != null) {
+            docs.set(docId, null);
+            deletedDocs++;
+        }
+    }
+
+    private void addPrefixes(Set<String> terms, String kind, String token) {
+        int max = Math.min(token.length(), MAX_PREFIX);
+        for (int len = MIN_PREFIX; len <= max; len++) {
+            terms.add(kind + token.substring(0, len));
+        }
+    }
+
+    private void compact() {
+        List<SearchDoc> live = docs.stream().filter(Objects::nonNull).toList();
+        postings.clear();
+        docs.clear();
+        docIdByProductId.clear();
+        deletedDocs = 0;
+        live.forEach(this::upsert);
+        log.debug("Product search index compacted to {} products", live.size());
+    }
+
+    @AllArgsConstructor
+    private static class TermWeight {
+        private final String term;
+        private final int weight;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<SearchDoc> hits;
+        private final int total;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchDoc {
+        private final long id;
+        private final String name;
+        private final String sku;
+        private final String description;
+        private final BigDecimal price;
+        private int stockQuantity;
+        private final Long categoryId;
+        private final String categoryName;
+        private final String normalizedSku;
+
+        static SearchDoc of(ProductSnapshot product) {
+            String sku = product.getSku() != null ? product.getSku() : "";
+            return new SearchDoc(product.getId(), product.getName(), sku, product.getDescription(), product.getPrice(),
+                    product.getStockQuantity(), product.getCategoryId(), product.getCategoryName(),
+                    String.join("", SearchTokenizer.tokenize(sku)));
+        }
+
+        SearchDoc copy() {
+            return new SearchDoc(id, name, sku, description, price, stockQuantity, categoryId, categoryName, normalizedSku);
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
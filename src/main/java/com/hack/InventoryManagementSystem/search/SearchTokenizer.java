@@ -0,0 +1,47 @@
+package com.hack.InventoryManagementSystem.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//lowercases, strips accents ("Café" -> "cafe") and splits on anything that is not a letter or digit
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) return tokens;
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    //trigrams of the token, or the token itself when it is shorter than three characters
+    public static List<String> trigrams(String token) {
+        List<String> grams = new ArrayList<>();
+        if (token.length() < 3) {
+            grams.add(token);
+            return grams;
+        }
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,231 @@
+package com.hack.InventoryManagementSystem.search;
+
+import com.hack.InventoryManagementSystem.cache.ProductCache;
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.entity.Transaction;
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.events.TransactionsRecordedEvent;
+import com.hack.InventoryManagementSystem.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Substring search over transactions backed by the transaction_search_terms side table: every transaction is indexed
+ * by the trigrams of its description, product name and SKU when it is inserted. A query intersects the posting lists
+ * of its trigrams newest-first and verifies the candidates in memory, so it reads a page worth of rows instead of
+ * scanning the table. Status is matched against the enum in memory, and queries without a three-letter word fall
+ * back to the old LIKE scan, newest rows first.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSearchIndex {
+
+    private static final String INSERT_TERM_SQL = "INSERT IGNORE INTO transaction_search_terms (term, transaction_id) VALUES (?, ?)";
+    //more terms than this only add joins; the candidates are verified anyway
+    private static final int MAX_QUERY_TERMS = 6;
+    private static final int MIN_CANDIDATE_BATCH = 200;
+    private static final int REBUILD_BATCH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionRepository transactionRepository;
+    private final ProductCache productCache;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    //same transaction as the insert, so a transaction is never committed without its terms
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        index(event.getTransactions());
+    }
+
+    //newest first, only ids below beforeId when it is given; skips offset matches and returns up to limit
+    public List<Transaction> search(String searchText, Long beforeId, int offset, int limit) {
+        String query = normalize(searchText);
+        long upperId = beforeId != null ? beforeId : Long.MAX_VALUE;
+        int needed = offset + limit;
+
+        List<String> terms = queryTerms(query);
+        Set<TransactionStatus> statuses = matchingStatuses(query);
+
+        Map<Long, Transaction> matches = new HashMap<>();
+        if (terms.isEmpty()) {
+            transactionRepository.searchTransactionsLike(searchText.trim(), upperId, PageRequest.of(0, needed, Sort.by(Sort.Direction.DESC, "id")))
+                    .forEach(transaction -> matches.put(transaction.getId(), transaction));
+        } else {
+            walkTerms(terms, query, upperId, needed, transaction -> {
+                matches.put(transaction.getId(), transaction);
+                return matches.size() < needed;
+            });
+            if (!statuses.isEmpty()) {
+                transactionRepository.findByStatusInAndIdLessThanOrderByIdDesc(statuses, upperId, Limit.of(needed))
+                        .forEach(transaction -> matches.putIfAbsent(transaction.getId(), transaction));
+            }
+        }
+
+        //each source returned its newest `needed` matches, so the newest `needed` of the union are exact
+        return matches.values().stream()
+                .sorted(Comparator.comparing(Transaction::getId).reversed())
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    //total number of matches under the same predicate as search(): trigram matches verified in memory plus status
+    //matches, or the LIKE predicate when the query has no three-letter word; walks every match, so only on request
+    public long count(String searchText) {
+        String query = normalize(searchText);
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            return transactionRepository.searchTransactions(searchText.trim(), PageRequest.of(0, 1)).getTotalElements();
+        }
+
+        Set<TransactionStatus> statuses = matchingStatuses(query);
+        long[] termMatches = new long[2];
+        walkTerms(terms, query, Long.MAX_VALUE, MIN_CANDIDATE_BATCH, transaction -> {
+            termMatches[0]++;
+            if (statuses.contains(transaction.getStatus())) termMatches[1]++;
+            return true;
+        });
+        //status matches that the terms already counted are not counted twice
+        return statuses.isEmpty() ? termMatches[0]
+                : termMatches[0] + transactionRepository.countByStatusIn(statuses) - termMatches[1];
+    }
+
+    //re-indexes every transaction in place, one batch per transaction: the old terms of a batch are replaced
+    //atomically, so searches stay complete while it runs and no DDL (or metadata lock) is involved
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) return false;
+        try {
+            long started = System.currentTimeMillis();
+            long afterId = 0;
+            long indexed = 0;
+            List<Transaction> batch;
+            do {
+                batch = transactionRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(REBUILD_BATCH));
+                if (batch.isEmpty()) break;
+                List<Transaction> rows = batch;
+                transactionTemplate.executeWithoutResult(status -> {
+                    //by id, not by range: rows committing meanwhile keep the terms their own insert wrote
+                    String placeholders = String.join(",", Collections.nCopies(rows.size(), "?"));
+                    jdbcTemplate.update("DELETE FROM transaction_search_terms WHERE transaction_id IN (" + placeholders + ")",
+                            rows.stream().map(Transaction::getId).toArray());
+                    index(rows);
+                });
+                afterId = batch.get(batch.size() - 1).getId();
+                indexed += batch.size();
+            } while (batch.size() == REBUILD_BATCH);
+            log.info("Transaction search index rebuilt: {} transactions in {} ms", indexed, System.currentTimeMillis() - started);
+            return true;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void index(List<Transaction> transactions) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            Set<String> terms = new HashSet<>();
+            addTerms(terms, transaction.getDescription());
+            if (transaction.getProduct() != null) {
+                //an uninitialized proxy answers getId without loading; name and SKU then come from the cache
+                Optional<Product> product = Hibernate.isInitialized(transaction.getProduct())
+                        ? Optional.of(transaction.getProduct())
+                        : productCache.findById(transaction.getProduct().getId());
+                product.ifPresent(found -> {
+                    addTerms(terms, found.getName());
+                    addTerms(terms, found.getSku());
+                });
+            }
+            terms.forEach(term -> rows.add(new Object[]{term, transaction.getId()}));
+        }
+        if (!rows.isEmpty()) jdbcTemplate.batchUpdate(INSERT_TERM_SQL, rows);
+    }
+
+    //walks the intersection newest-first in batches, handing every verified match to sink until it returns false
+    private void walkTerms(List<String> terms, String query, long upperId, int needed, Predicate<Transaction> sink) {
+        String sql = intersectionSql(terms.size());
+        int batchSize = Math.max(MIN_CANDIDATE_BATCH, needed * 2);
+        long beforeId = upperId;
+
+        while (true) {
+            List<Object> args = new ArrayList<>(terms.subList(1, terms.size()));
+            args.add(terms.get(0));
+            args.add(beforeId);
+            args.add(batchSize);
+            List<Long> candidateIds = jdbcTemplate.queryForList(sql, Long.class, args.toArray());
+            if (candidateIds.isEmpty()) return;
+
+            List<Transaction> batch = new ArrayList<>(transactionRepository.findWithProductByIdIn(candidateIds));
+            batch.sort(Comparator.comparing(Transaction::getId).reversed());
+            for (Transaction transaction : batch) {
+                if (matches(transaction, query) && !sink.test(transaction)) return;
+            }
+            if (candidateIds.size() < batchSize) return;
+            beforeId = candidateIds.get(candidateIds.size() - 1);
+        }
+    }
+
+    private static Set<TransactionStatus> matchingStatuses(String query) {
+        return Arrays.stream(TransactionStatus.values())
+                .filter(status -> status.name().toLowerCase(Locale.ROOT).contains(query))
+                .collect(Collectors.toSet());
+    }
+
+    private static String intersectionSql(int termCount) {
+        StringBuilder sql = new StringBuilder("SELECT t0.transaction_id FROM transaction_search_terms t0");
+        for (int i = 1; i < termCount; i++) {
+            sql.append(" JOIN transaction_search_terms t").append(i)
+                    .append(" ON t").append(i).append(".term = ? AND t").append(i).append(".transaction_id = t0.transaction_id");
+        }
+        return sql.append(" WHERE t0.term = ? AND t0.transaction_id < ? ORDER BY t0.transaction_id DESC LIMIT ?").toString();
+    }
+
+    //trigrams of every query word of three letters or more, spread over the query when there are many
+    private static List<String> queryTerms(String query) {
+        List<String> grams = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query).stream()
+                .filter(token -> token.length() >= 3)
+                .flatMap(token -> SearchTokenizer.trigrams(token).stream())
+                .toList()));
+        if (grams.size() <= MAX_QUERY_TERMS) return grams;
+
+        List<String> spread = new ArrayList<>(MAX_QUERY_TERMS);
+        for (int i = 0; i < MAX_QUERY_TERMS; i++) {
+            spread.add(grams.get(i * (grams.size() - 1) / (MAX_QUERY_TERMS - 1)));
+        }
+        return spread;
+    }
+
+    private static boolean matches(Transaction transaction, String query) {
+        if (normalize(transaction.getDescription()).contains(query)) return true;
+        Product product = transaction.getProduct();
+        return product != null && (normalize(product.getName()).contains(query) || normalize(product.getSku()).contains(query));
+    }
+
+    private static void addTerms(Set<String> terms, String text) {
+        for (String token : SearchTokenizer.tokenize(text)) terms.addAll(SearchTokenizer.trigrams(token));
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .trim();
+    }
+}
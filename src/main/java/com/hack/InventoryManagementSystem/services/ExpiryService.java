@@ -0,0 +1,9 @@
+package com.hack.InventoryManagementSystem.services;
+
+import com.hack.InventoryManagementSystem.dto.Response;
+
+public interface ExpiryService {
+    Response getExpiringProducts(int days, boolean includeExpired);
+
+    void scanExpiringStock();
+}
@@ -0,0 +1,13 @@
+package com.hack.InventoryManagementSystem.services;
+
+import com.hack.InventoryManagementSystem.dto.Response;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    //runs action once per (user, key); repeats with the same request body get the first Response back, a different
+    //body is rejected. A null key just runs the action
+    Response execute(String idempotencyKey, String endpoint, Object request, Supplier<Response> action);
+
+    void purgeExpiredKeys();
+}
@@ -0,0 +1,10 @@
+package com.hack.InventoryManagementSystem.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+    void exportCsv(OutputStream out) throws IOException;
+
+    void exportExcel(OutputStream out) throws IOException;
+}
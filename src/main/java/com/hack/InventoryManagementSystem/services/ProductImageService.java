@@ -0,0 +1,10 @@
+package com.hack.InventoryManagementSystem.services;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+public interface ProductImageService {
+    void serveImage(String fileName, boolean thumbnail, HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
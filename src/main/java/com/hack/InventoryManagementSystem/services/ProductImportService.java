@@ -0,0 +1,15 @@
+package com.hack.InventoryManagementSystem.services;
+
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.enums.ImportFormat;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ProductImportService {
+    Response bulkSaveProducts(MultipartFile file, ImportFormat format);
+
+    Response getImportJob(Long jobId);
+
+    Response retryImportJob(Long jobId);
+
+    Response cancelImportJob(Long jobId);
+}
@@ -5,16 +5,21 @@ import com.hack.InventoryManagementSystem.dto.Response;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface ProductService {
-    Response saveProduct(ProductDTO productDTO);
+    Response saveProduct(ProductDTO productDTO, MultipartFile imageFile);
 
-    Response updateProduct(ProductDTO productDTO);
+    Response updateProduct(ProductDTO productDTO, MultipartFile imageFile);
 
-    Response getAllProducts();
+    Response getAllProducts(String cursor, int limit);
 
     Response getProductById(Long id);
 
+    Response getProductBySku(String sku);
+
     Response deleteProduct(Long id);
 
-    Response bulkSaveProducts(MultipartFile file);
     Response getTotalProducts();
+
+    Response searchProducts(String query, int page, int size);
+
+    Response getCacheStats();
 }
@@ -0,0 +1,16 @@
+package com.hack.InventoryManagementSystem.services;
+
+import com.hack.InventoryManagementSystem.dto.ReservationRequest;
+import com.hack.InventoryManagementSystem.dto.Response;
+
+public interface ReservationService {
+    Response reserve(ReservationRequest reservationRequest);
+
+    Response commit(String reservationId);
+
+    Response release(String reservationId);
+
+    Response getAvailable(Long productId);
+
+    void expireReservations();
+}
@@ -0,0 +1,11 @@
+package com.hack.InventoryManagementSystem.services;
+
+import com.hack.InventoryManagementSystem.dto.Response;
+
+import java.time.LocalDateTime;
+
+public interface StockLedgerService {
+    Response getStockAsOf(Long productId, LocalDateTime at);
+
+    void takeSnapshots();
+}
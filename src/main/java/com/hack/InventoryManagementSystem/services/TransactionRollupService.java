@@ -0,0 +1,13 @@
+package com.hack.InventoryManagementSystem.services;
+
+import com.hack.InventoryManagementSystem.dto.Response;
+
+import java.time.LocalDate;
+
+public interface TransactionRollupService {
+    Response getDailyRollups(LocalDate from, LocalDate to, Long productId);
+
+    Response getRollupTotals(LocalDate from, LocalDate to, Long productId);
+
+    Response rebuildRollups();
+}
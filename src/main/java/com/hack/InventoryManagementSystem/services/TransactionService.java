@@ -1,21 +1,32 @@
 package com.hack.InventoryManagementSystem.services;
 
+import com.hack.InventoryManagementSystem.dto.BasketRequest;
 import com.hack.InventoryManagementSystem.dto.Response;
 import com.hack.InventoryManagementSystem.dto.TransactionsRequest;
 import com.hack.InventoryManagementSystem.enums.TransactionStatus;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface TransactionService {
     Response restockInventory(TransactionsRequest transactionsRequest);
 
     Response sell(TransactionsRequest transactionsRequest);
 
+    Response processBasket(BasketRequest basketRequest);
+
     Response returnToSupplier(TransactionsRequest transactionsRequest);
 
-    Response getAllTransactions(int page, int size, String searchText);
+    Response getAllTransactions(int page, int size, String searchText, Long beforeId, boolean includeTotals);
+
+    Response rebuildSearchIndex();
+
+    Response archiveTransactions();
 
     Response getTransactionsById(Long id);
 
-    Response getAllTransactionsByMonthAndYear(int month, int year);
+    //writes the month's transactions as a JSON Response body straight to out
+    void streamTransactionsByMonthAndYear(int month, int year, OutputStream out) throws IOException;
 
     Response updateTransactions(Long transactionId, TransactionStatus transactionStatus);
     Response returnSaleTransaction(TransactionsRequest transactionsRequest, Long originalSaleId);
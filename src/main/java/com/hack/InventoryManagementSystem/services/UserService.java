@@ -14,4 +14,5 @@ public interface UserService {
     Response updateUser(Long id, UserDTO userDTO);
     Response deleteUser(Long id);
     Response getUserTransaction(Long id);
+    Response getUserTransactions(Long id, Long beforeId, int size);
 }
@@ -0,0 +1,82 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.hack.InventoryManagementSystem.dto.CategoryDTO;
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import com.hack.InventoryManagementSystem.services.ExpiryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExpiryServiceImpl implements ExpiryService {
+
+    //how far back includeExpired looks; older products are assumed written off
+    private static final int EXPIRED_LOOKBACK_DAYS = 365;
+    private static final int MAX_DAYS = 366;
+
+    private final ProductRepository productRepository;
+
+    @Value("${inventory.expiry.alert-days:7}")
+    private int alertDays;
+
+    @Override
+    public Response getExpiringProducts(int days, boolean includeExpired) {
+        if (days < 0 || days > MAX_DAYS) throw new IllegalArgumentException("days must be between 0 and " + MAX_DAYS);
+
+        List<Product> products = findExpiring(days, includeExpired);
+        List<ProductDTO> productDTOS = products.stream().map(product -> {
+            ProductDTO dto = new ProductDTO();
+            dto.setId(product.getId());
+            dto.setName(product.getName());
+            dto.setSku(product.getSku());
+            dto.setPrice(product.getPrice());
+            dto.setStockQuantity(product.getStockQuantity());
+            dto.setExpirationDate(product.getExpiryDate());
+            if (product.getCategory() != null) {
+                dto.setCategoryId(product.getCategory().getId());
+                dto.setCategory(new CategoryDTO(product.getCategory().getId(), product.getCategory().getName()));
+            }
+            return dto;
+        }).toList();
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .products(productDTOS)
+                .totalElements((long) productDTOS.size())
+                .build();
+    }
+
+    @Override
+    @Scheduled(cron = "${inventory.expiry.scan-cron:0 0 6 * * *}")
+    public void scanExpiringStock() {
+        List<Product> products = findExpiring(alertDays, false).stream()
+                .filter(product -> product.getStockQuantity() != null && product.getStockQuantity() > 0)
+                .toList();
+        if (products.isEmpty()) {
+            log.info("Expiring stock scan: nothing expires in the next {} days", alertDays);
+            return;
+        }
+        long units = products.stream().mapToLong(Product::getStockQuantity).sum();
+        log.warn("Expiring stock scan: {} products ({} units) expire in the next {} days", products.size(), units, alertDays);
+        products.forEach(product -> log.debug("  {} ({}) stock={} expires={}",
+                product.getName(), product.getSku(), product.getStockQuantity(), product.getExpiryDate()));
+    }
+
+    //whole days: from the start of the first one to the end of the last one
+    private List<Product> findExpiring(int days, boolean includeExpired) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = includeExpired ? today.minusDays(EXPIRED_LOOKBACK_DAYS) : today;
+        return productRepository.findExpiringBetween(from.atStartOfDay(), today.plusDays(days + 1L).atStartOfDay());
+    }
+}
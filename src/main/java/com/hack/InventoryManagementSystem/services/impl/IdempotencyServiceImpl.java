@@ -0,0 +1,159 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.entity.IdempotencyKey;
+import com.hack.InventoryManagementSystem.exceptions.IdempotencyKeyReusedException;
+import com.hack.InventoryManagementSystem.repository.IdempotencyKeyRepository;
+import com.hack.InventoryManagementSystem.services.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key handling for the transaction endpoints. A bounded Caffeine map holds one future per key: the first
+ * request runs the action, concurrent duplicates wait on the same future and later ones read the finished result.
+ * The idempotency_keys row is inserted in the same database transaction as the action, so the key is stored exactly
+ * when the action's writes commit; a duplicate on another instance blocks on the unique key until then and replays
+ * the stored result. Each key remembers a hash of its request body and a retry with a different body is rejected.
+ * Failed actions roll their key back with them; the client may retry them.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, PendingResult> results;
+    private final Duration ttl;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${inventory.idempotency.max-size:100000}") long maxSize,
+                                  @Value("${inventory.idempotency.ttl:24h}") Duration ttl) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.results = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Response execute(String idempotencyKey, String endpoint, Object request, Supplier<Response> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) return action.get();
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        //keys are per user, two clients picking the same value never see each other's results
+        String scopedKey = SecurityContextHolder.getContext().getAuthentication().getName() + ":" + idempotencyKey;
+        PendingResult mine = new PendingResult(endpoint, hash(request));
+        PendingResult existing = results.asMap().putIfAbsent(scopedKey, mine);
+        if (existing != null) return replay(existing, mine);
+
+        try {
+            Optional<IdempotencyKey> stored = idempotencyKeyRepository.findByScopedKey(scopedKey);
+            Response response = stored.isPresent() ? replay(stored.get(), mine) : runOnce(scopedKey, mine, action);
+            mine.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            results.asMap().remove(scopedKey, mine);
+            mine.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${inventory.idempotency.purge-cron:0 30 3 * * *}")
+    public void purgeExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) log.info("Purged {} expired idempotency keys", deleted);
+    }
+
+    private Response replay(PendingResult existing, PendingResult mine) {
+        checkRequest(existing.endpoint, existing.requestHash, mine);
+        try {
+            Response response = existing.response.join();
+            log.debug("Replaying idempotent response for {}", mine.endpoint);
+            return response;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private Response replay(IdempotencyKey stored, PendingResult mine) {
+        checkRequest(stored.getEndpoint(), stored.getRequestHash(), mine);
+        return Response.builder().status(stored.getStatus()).message(stored.getMessage()).build();
+    }
+
+    //the key row is written first: the action's writes and the key commit or roll back together
+    private Response runOnce(String scopedKey, PendingResult mine, Supplier<Response> action) {
+        try {
+            return transactionTemplate.execute(status -> {
+                IdempotencyKey key = idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                        .scopedKey(scopedKey)
+                        .endpoint(mine.endpoint)
+                        .requestHash(mine.requestHash)
+                        .build());
+                Response response = action.get();
+                key.setStatus(response.getStatus());
+                key.setMessage(response.getMessage());
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            //another instance committed the same key while this one waited on the unique index
+            IdempotencyKey stored = idempotencyKeyRepository.findByScopedKey(scopedKey).orElseThrow(() -> e);
+            log.debug("Idempotency key {} was stored by another instance", scopedKey);
+            return replay(stored, mine);
+        }
+    }
+
+    //keys stored before request hashes existed are only checked against the endpoint
+    private static void checkRequest(String storedEndpoint, String storedHash, PendingResult mine) {
+        if (!mine.endpoint.equals(storedEndpoint) || (storedHash != null && !storedHash.equals(mine.requestHash))) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for another request");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the request body", e);
+        }
+    }
+
+    private static class PendingResult {
+        private final String endpoint;
+        private final String requestHash;
+        private final CompletableFuture<Response> response = new CompletableFuture<>();
+
+        private PendingResult(String endpoint, String requestHash) {
+            this.endpoint = endpoint;
+            this.requestHash = requestHash;
+        }
+    }
+}
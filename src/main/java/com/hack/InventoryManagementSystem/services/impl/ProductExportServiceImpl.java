@@ -0,0 +1,108 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import com.hack.InventoryManagementSystem.services.ProductExportService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+//exports use the same column layout the bulk importers accept, so an export can be edited and uploaded back
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final String[] HEADER = {"name", "sku", "price", "stockQuantity", "description", "categoryId"};
+    //rows kept in memory by SXSSF before they are flushed to its temp file
+    private static final int EXCEL_WINDOW = 100;
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        writer.write(String.join(",", HEADER));
+        writer.write('\n');
+
+        try (Stream<Product> products = productRepository.streamAllForExport()) {
+            products.forEach(product -> {
+                try {
+                    writer.write(csv(product.getName()));
+                    writer.write(',');
+                    writer.write(csv(product.getSku()));
+                    writer.write(',');
+                    writer.write(product.getPrice() != null ? product.getPrice().toPlainString() : "");
+                    writer.write(',');
+                    writer.write(product.getStockQuantity() != null ? product.getStockQuantity().toString() : "");
+                    writer.write(',');
+                    writer.write(csv(product.getDescription()));
+                    writer.write(',');
+                    writer.write(product.getCategory() != null ? product.getCategory().getId().toString() : "");
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                //nothing is written back, so the row can leave the persistence context right away
+                entityManager.detach(product);
+            });
+        }
+        writer.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportExcel(OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet("products");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADER.length; i++) {
+                header.createCell(i).setCellValue(HEADER[i]);
+            }
+
+            int[] rowIndex = {1};
+            try (Stream<Product> products = productRepository.streamAllForExport()) {
+                products.forEach(product -> {
+                    Row row = sheet.createRow(rowIndex[0]++);
+                    row.createCell(0).setCellValue(product.getName());
+                    row.createCell(1).setCellValue(product.getSku());
+                    if (product.getPrice() != null) row.createCell(2).setCellValue(product.getPrice().doubleValue());
+                    if (product.getStockQuantity() != null) row.createCell(3).setCellValue(product.getStockQuantity());
+                    row.createCell(4).setCellValue(product.getDescription());
+                    if (product.getCategory() != null) row.createCell(5).setCellValue(product.getCategory().getId());
+                    entityManager.detach(product);
+                });
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
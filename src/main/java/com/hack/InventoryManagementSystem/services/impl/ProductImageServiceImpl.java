@@ -0,0 +1,180 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hack.InventoryManagementSystem.exceptions.NotFoundException;
+import com.hack.InventoryManagementSystem.services.ProductImageService;
+import com.hack.InventoryManagementSystem.storage.ProductImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class ProductImageServiceImpl implements ProductImageService {
+
+    //stored names are <sha256>.<ext>, anything else cannot be an image of ours (and cannot escape the directory)
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z0-9]{1,5})");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    //the original standing in for a thumbnail: the same URL will serve different bytes once the thumbnail exists
+    private static final String FALLBACK_CACHE_CONTROL = "no-cache";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ProductImageStorage productImageStorage;
+    private final Cache<String, byte[]> thumbnailCache;
+
+    public ProductImageServiceImpl(ProductImageStorage productImageStorage,
+                                   @Value("${inventory.image-cache.max-bytes:33554432}") long maxBytes) {
+        this.productImageStorage = productImageStorage;
+        this.thumbnailCache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, byte[] bytes) -> bytes.length)
+                .build();
+    }
+
+    @Override
+    public void serveImage(String fileName, boolean thumbnail, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Matcher name = FILE_NAME.matcher(fileName);
+        if (!name.matches()) throw new NotFoundException("Image Not Found");
+
+        Path image = Paths.get(ProductImageStorage.IMAGE_DIRECTORY, fileName);
+        if (!Files.isRegularFile(image)) throw new NotFoundException("Image Not Found");
+
+        Path file = image;
+        String etag = "\"" + name.group(1) + "\"";
+        String cacheControl = CACHE_CONTROL;
+        if (thumbnail) {
+            Path thumbnailFile = ProductImageStorage.thumbnailPath(image);
+            if (Files.isRegularFile(thumbnailFile)) {
+                file = thumbnailFile;
+                etag = "\"" + name.group(1) + "-thumb\"";
+            } else {
+                //not generated yet (or skipped under load): queue it and serve the original meanwhile, uncached and
+                //without a validator so the client asks again and picks the thumbnail up
+                productImageStorage.scheduleThumbnail(image);
+                etag = null;
+                cacheControl = FALLBACK_CACHE_CONTROL;
+            }
+        }
+
+        //the name is the content hash, so the bytes behind a URL never change
+        if (etag != null) response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag != null && matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        MediaType mediaType = file == image
+                ? MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM)
+                : MediaType.IMAGE_JPEG;
+        response.setContentType(mediaType.toString());
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+            //multi-range requests fall through to a full 200 response, which RFC 9110 allows
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, length - parsePosition(matcher.group(2)));
+                } else {
+                    start = parsePosition(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) end = Math.min(end, parsePosition(matcher.group(2)));
+                }
+                if (start >= length || start > end) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (file != image && count == length) {
+            writeThumbnail(file, response);
+        } else {
+            transfer(file, start, count, request, response);
+        }
+    }
+
+    private void writeThumbnail(Path file, HttpServletResponse response) throws IOException {
+        byte[] bytes = thumbnailCache.getIfPresent(file.toString());
+        if (bytes == null) {
+            bytes = Files.readAllBytes(file);
+            thumbnailCache.put(file.toString(), bytes);
+        }
+        response.getOutputStream().write(bytes);
+    }
+
+    private void transfer(Path file, long start, long count, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        //Tomcat's NIO connector can hand the file to the kernel (sendfile) once the servlet returns
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    //digits only (the pattern guarantees it); a value too long for a long is past the end of any file, so it saturates
+    //instead of failing: the range then clamps to the file or is answered with 416 like any other unsatisfiable one
+    private static long parsePosition(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals("*") || value.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,295 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+import com.hack.InventoryManagementSystem.dto.ProductImportJobDTO;
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.entity.Category;
+import com.hack.InventoryManagementSystem.entity.ProductImportError;
+import com.hack.InventoryManagementSystem.entity.ProductImportJob;
+import com.hack.InventoryManagementSystem.enums.ImportFormat;
+import com.hack.InventoryManagementSystem.enums.ImportJobStatus;
+import com.hack.InventoryManagementSystem.exceptions.NotFoundException;
+import com.hack.InventoryManagementSystem.exceptions.ServiceUnavailableException;
+import com.hack.InventoryManagementSystem.importer.CsvProductReader;
+import com.hack.InventoryManagementSystem.importer.ExcelProductReader;
+import com.hack.InventoryManagementSystem.importer.NdjsonProductReader;
+import com.hack.InventoryManagementSystem.importer.ProductChunkWriter;
+import com.hack.InventoryManagementSystem.importer.ProductFileReader;
+import com.hack.InventoryManagementSystem.importer.ProductImportRow;
+import com.hack.InventoryManagementSystem.importer.ProductRowHandler;
+import com.hack.InventoryManagementSystem.repository.CategoryRepository;
+import com.hack.InventoryManagementSystem.repository.ProductImportErrorRepository;
+import com.hack.InventoryManagementSystem.repository.ProductImportJobRepository;
+import com.hack.InventoryManagementSystem.services.ProductImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private final ProductImportJobRepository productImportJobRepository;
+    private final ProductImportErrorRepository productImportErrorRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductChunkWriter productChunkWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor productImportExecutor;
+
+    private static final String IMPORT_DIRECTORY = System.getProperty("user.dir") + "/product-import/";
+    private static final int CHUNK_SIZE = 500;
+
+    @Override
+    public Response bulkSaveProducts(MultipartFile file, ImportFormat format) {
+        File directory = new File(IMPORT_DIRECTORY);
+        if (!directory.exists()) {
+            directory.mkdirs();
+            log.info("Directory was created");
+        }
+
+        //spool the upload so the job outlives the request and can be resumed after a restart
+        File spooled = new File(directory, UUID.randomUUID() + "." + format.name().toLowerCase());
+        try {
+            file.transferTo(spooled);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException("Error al guardar el archivo: " + ex.getMessage());
+        }
+
+        ProductImportJob job = productImportJobRepository.save(ProductImportJob.builder()
+                .status(ImportJobStatus.QUEUED)
+                .format(format)
+                .fileName(file.getOriginalFilename())
+                .filePath(spooled.getAbsolutePath())
+                .build());
+
+        submit(job.getId());
+
+        return Response.builder()
+                .status(202)
+                .message("Importación en cola")
+                .importJob(toDTO(job, false))
+                .build();
+    }
+
+    @Override
+    public Response getImportJob(Long jobId) {
+        ProductImportJob job = productImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Import Job Not Found"));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .importJob(toDTO(job, true))
+                .build();
+    }
+
+    //jobs left QUEUED or RUNNING by a crash or restart continue after their last committed chunk
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        List<ProductImportJob> pending = productImportJobRepository
+                .findByStatusInOrderByIdAsc(List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING));
+        for (ProductImportJob job : pending) {
+            log.info("Resuming product import job {} from row {}", job.getId(), job.getLastCommittedRow());
+            submit(job.getId());
+        }
+    }
+
+    private void submit(Long jobId) {
+        try {
+            productImportExecutor.execute(() -> runJob(jobId));
+        } catch (TaskRejectedException ex) {
+            finish(jobId, ImportJobStatus.FAILED, "Demasiadas importaciones en cola, intente más tarde");
+            throw new ServiceUnavailableException("Too many imports queued, try again later");
+        }
+    }
+
+    private void runJob(Long jobId) {
+        ProductImportJob job = productImportJobRepository.findById(jobId).orElse(null);
+        if (job == null) return;
+
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setMessage(null);
+        job.setFinishedAt(null);
+        if (job.getStartedAt() == null) job.setStartedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        productImportJobRepository.save(job);
+
+        try {
+            Map<Long, Category> categories = new HashMap<>();
+            categoryRepository.findAll().forEach(category -> categories.put(category.getId(), category));
+
+            ChunkState state = new ChunkState(job, categories);
+            int resumeAfter = job.getLastCommittedRow();
+
+            readerFor(job.getFormat()).read(new File(job.getFilePath()), new ProductRowHandler() {
+                @Override
+                public void onRow(int rowNumber, ProductDTO dto) {
+                    if (rowNumber <= resumeAfter) return;
+                    state.rows.add(new ProductImportRow(rowNumber, dto));
+                    state.lastRow = rowNumber;
+                    if (state.rows.size() >= CHUNK_SIZE) commitChunk(state);
+                }
+
+                @Override
+                public void onError(int rowNumber, String message) {
+                    if (rowNumber <= resumeAfter) return;
+                    state.errors.add("Error en línea " + rowNumber + ": " + message);
+                    state.lastRow = rowNumber;
+                }
+            });
+            commitChunk(state);
+
+            finish(jobId, ImportJobStatus.COMPLETED, job.getSuccessCount() + " productos procesados exitosamente"
+                    + (job.getErrorCount() == 0 ? "" : ". Algunos productos fallaron."));
+            deleteSpooledFile(job);
+        } catch (DataAccessException | TransactionException | IOException e) {
+            //the file is fine, the database or the disk is not: a retry continues after the last committed chunk
+            log.error("Product import job {} failed after row {}, it can be retried", jobId, job.getLastCommittedRow(), e);
+            finish(jobId, ImportJobStatus.FAILED, "Error de infraestructura, reintente la importación: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Product import job {} failed", jobId, e);
+            finish(jobId, ImportJobStatus.FAILED, "Error al procesar el archivo: " + e.getMessage());
+        }
+    }
+
+    //a failed job keeps its spooled file and progress until it is retried to completion or cancelled
+    @Override
+    public Response retryImportJob(Long jobId) {
+        ProductImportJob job = productImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Import Job Not Found"));
+        if (productImportJobRepository.updateStatus(jobId, ImportJobStatus.FAILED, ImportJobStatus.QUEUED) == 0) {
+            throw new IllegalArgumentException("Solo se pueden reintentar importaciones fallidas");
+        }
+        job.setStatus(ImportJobStatus.QUEUED);
+
+        submit(jobId);
+
+        return Response.builder()
+                .status(202)
+                .message("Importación en cola desde la fila " + job.getLastCommittedRow())
+                .importJob(toDTO(job, false))
+                .build();
+    }
+
+    @Override
+    public Response cancelImportJob(Long jobId) {
+        ProductImportJob job = productImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Import Job Not Found"));
+        if (productImportJobRepository.updateStatus(jobId, ImportJobStatus.FAILED, ImportJobStatus.CANCELLED) == 0) {
+            throw new IllegalArgumentException("Solo se pueden cancelar importaciones fallidas");
+        }
+        job.setStatus(ImportJobStatus.CANCELLED);
+        deleteSpooledFile(job);
+
+        return Response.builder()
+                .status(200)
+                .message("Importación cancelada")
+                .importJob(toDTO(job, false))
+                .build();
+    }
+
+    //jobs created before formats existed have no format and are Excel uploads
+    private ProductFileReader readerFor(ImportFormat format) {
+        if (format == null) return new ExcelProductReader();
+        return switch (format) {
+            case EXCEL -> new ExcelProductReader();
+            case CSV -> new CsvProductReader();
+            case NDJSON -> new NdjsonProductReader();
+        };
+    }
+
+    //the chunk and the job progress commit together, so lastCommittedRow always matches what is in the table
+    private void commitChunk(ChunkState state) {
+        if (state.rows.isEmpty() && state.errors.isEmpty()) return;
+
+        ProductImportJob job = state.job;
+        transactionTemplate.executeWithoutResult(status -> {
+            int processed = state.rows.size() + state.errors.size();
+            int written = productChunkWriter.writeChunk(state.rows, state.categories, state.errors);
+
+            job.setRowsProcessed(job.getRowsProcessed() + processed);
+            job.setSuccessCount(job.getSuccessCount() + written);
+            job.setErrorCount(job.getErrorCount() + state.errors.size());
+            job.setLastCommittedRow(state.lastRow);
+            job.setUpdatedAt(LocalDateTime.now());
+            productImportJobRepository.save(job);
+
+            productImportErrorRepository.saveAll(state.errors.stream()
+                    .map(message -> ProductImportError.builder().jobId(job.getId()).message(message).build())
+                    .toList());
+        });
+        state.rows.clear();
+        state.errors.clear();
+    }
+
+    private void finish(Long jobId, ImportJobStatus status, String message) {
+        productImportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setMessage(message);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setUpdatedAt(LocalDateTime.now());
+            productImportJobRepository.save(job);
+        });
+    }
+
+    private void deleteSpooledFile(ProductImportJob job) {
+        File file = new File(job.getFilePath());
+        if (file.exists() && !file.delete()) {
+            log.warn("Could not delete spooled import file {}", file);
+        }
+    }
+
+    private ProductImportJobDTO toDTO(ProductImportJob job, boolean withErrors) {
+        //average rate since the job first started
+        double rowsPerSecond = 0;
+        if (job.getStartedAt() != null && job.getUpdatedAt() != null) {
+            long millis = Duration.between(job.getStartedAt(), job.getUpdatedAt()).toMillis();
+            if (millis > 0) rowsPerSecond = job.getRowsProcessed() * 1000.0 / millis;
+        }
+
+        return ProductImportJobDTO.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .rowsProcessed(job.getRowsProcessed())
+                .successCount(job.getSuccessCount())
+                .errorCount(job.getErrorCount())
+                .rowsPerSecond(rowsPerSecond)
+                .message(job.getMessage())
+                .errors(withErrors ? productImportErrorRepository.findByJobIdOrderByIdAsc(job.getId()).stream()
+                        .map(ProductImportError::getMessage).toList() : null)
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .createdAt(job.getCreatedAt())
+                .build();
+    }
+
+    private static final class ChunkState {
+        private final ProductImportJob job;
+        private final Map<Long, Category> categories;
+        private final List<ProductImportRow> rows = new ArrayList<>(CHUNK_SIZE);
+        private final List<String> errors = new ArrayList<>();
+        private int lastRow;
+
+        private ChunkState(ProductImportJob job, Map<Long, Category> categories) {
+            this.job = job;
+            this.categories = categories;
+            this.lastRow = job.getLastCommittedRow();
+        }
+    }
+}
@@ -1,28 +1,32 @@
 package com.hack.InventoryManagementSystem.services.impl;
 
+import com.hack.InventoryManagementSystem.cache.ProductCache;
+import com.hack.InventoryManagementSystem.cache.ProductSummaryCounters;
+import com.hack.InventoryManagementSystem.dto.CategoryDTO;
+import com.hack.InventoryManagementSystem.dto.PageCursor;
 import com.hack.InventoryManagementSystem.dto.ProductDTO;
-import com.hack.InventoryManagementSystem.dto.ProductSummaryDTO;
+import com.hack.InventoryManagementSystem.dto.ProductListView;
 import com.hack.InventoryManagementSystem.dto.Response;
 import com.hack.InventoryManagementSystem.entity.Category;
 import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.events.ProductChangedEvent;
+import com.hack.InventoryManagementSystem.events.ProductSnapshot;
 import com.hack.InventoryManagementSystem.exceptions.NotFoundException;
 import com.hack.InventoryManagementSystem.repository.CategoryRepository;
 import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import com.hack.InventoryManagementSystem.search.ProductSearchIndex;
+import com.hack.InventoryManagementSystem.storage.ProductImageStorage;
 import com.hack.InventoryManagementSystem.services.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.math.BigDecimal;
 import java.util.*;
 
@@ -34,222 +38,195 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final ModelMapper modelMapper;
     private final CategoryRepository categoryRepository;
+    private final ProductSummaryCounters productSummaryCounters;
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductImageStorage productImageStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final String IMAGE_DIRECTORY = System.getProperty("user.dir") + "/product-image/";
+    private static final int MAX_PAGE_SIZE = 500;
 
+    //the image is hashed and copied to disk before a transaction (and a pooled connection) is opened
     @Override
-    public Response saveProduct(ProductDTO productDTO) {
-        Category category = categoryRepository.findById(productDTO.getCategoryId()).orElseThrow(() -> new NotFoundException("Category Not Found"));
+    public Response saveProduct(ProductDTO productDTO, MultipartFile imageFile) {
+        String imageUrl = storeImage(imageFile);
 
-        //map out product dto to product entity
-        Product productToSave = Product.builder().name(productDTO.getName()).sku(productDTO.getSku()).price(productDTO.getPrice()).stockQuantity(productDTO.getStockQuantity()).description(productDTO.getDescription()).category(category).build();
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = categoryRepository.findById(productDTO.getCategoryId()).orElseThrow(() -> new NotFoundException("Category Not Found"));
+
+            //map out product dto to product entity
+            Product productToSave = Product.builder().name(productDTO.getName()).sku(productDTO.getSku()).price(productDTO.getPrice()).stockQuantity(productDTO.getStockQuantity()).description(productDTO.getDescription()).expiryDate(productDTO.getExpirationDate()).category(category).imageUrl(imageUrl).build();
 
-        //save the product to our database
-        productRepository.save(productToSave);
+            //save the product to our database
+            productRepository.save(productToSave);
+            eventPublisher.publishEvent(new ProductChangedEvent(null, ProductSnapshot.of(productToSave)));
+        });
         return Response.builder().status(200).message("Product Successfully Saved").build();
     }
 
     @Override
-    public Response updateProduct(ProductDTO productDTO) {
-        Product existingProduct = productRepository.findById(productDTO.getProductId()).orElseThrow(() -> new NotFoundException("Product Not Found"));
+    public Response updateProduct(ProductDTO productDTO, MultipartFile imageFile) {
+        String imageUrl = storeImage(imageFile);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            //locked: the whole row is written back, so a sale committing in between would otherwise be overwritten
+            Product existingProduct = productRepository.findForUpdateById(productDTO.getProductId()).orElseThrow(() -> new NotFoundException("Product Not Found"));
+            ProductSnapshot before = ProductSnapshot.of(existingProduct);
+
+            //Check if category is to be changed for the product
+            if (productDTO.getCategoryId() != null && productDTO.getCategoryId() > 0) {
+                Category category = categoryRepository.findById(productDTO.getCategoryId()).orElseThrow(() -> new NotFoundException("Category Not Found"));
+                existingProduct.setCategory(category);
+            }
+            //Check and update fields
+            if (productDTO.getName() != null && !productDTO.getName().isBlank()) {
+                existingProduct.setName(productDTO.getName());
+            }
 
-        //Check if category is to be changed for the product
-        if (productDTO.getCategoryId() != null && productDTO.getCategoryId() > 0) {
-            Category category = categoryRepository.findById(productDTO.getCategoryId()).orElseThrow(() -> new NotFoundException("Category Not Found"));
-            existingProduct.setCategory(category);
-        }
-        //Check and update fields
-        if (productDTO.getName() != null && !productDTO.getName().isBlank()) {
-            existingProduct.setName(productDTO.getName());
-        }
+            if (productDTO.getSku() != null && !productDTO.getSku().isBlank()) {
+                existingProduct.setSku(productDTO.getSku());
+            }
 
-        if (productDTO.getSku() != null && !productDTO.getSku().isBlank()) {
-            existingProduct.setSku(productDTO.getSku());
-        }
+            if (productDTO.getDescription() != null && !productDTO.getDescription().isBlank()) {
+                existingProduct.setDescription(productDTO.getDescription());
+            }
 
-        if (productDTO.getDescription() != null && !productDTO.getDescription().isBlank()) {
-            existingProduct.setDescription(productDTO.getDescription());
-        }
+            if (productDTO.getPrice() != null && productDTO.getPrice().compareTo(BigDecimal.ZERO) >= 0) {
+                existingProduct.setPrice(productDTO.getPrice());
+            }
 
-        if (productDTO.getPrice() != null && productDTO.getPrice().compareTo(BigDecimal.ZERO) >= 0) {
-            existingProduct.setPrice(productDTO.getPrice());
-        }
+            if (productDTO.getStockQuantity() != null && productDTO.getStockQuantity() >= 0) {
+                existingProduct.setStockQuantity(productDTO.getStockQuantity());
+            }
 
-        if (productDTO.getStockQuantity() != null && productDTO.getStockQuantity() >= 0) {
-            existingProduct.setStockQuantity(productDTO.getStockQuantity());
-        }
-        //Update the product
+            if (productDTO.getExpirationDate() != null) {
+                existingProduct.setExpiryDate(productDTO.getExpirationDate());
+            }
+
+            if (imageUrl != null) {
+                existingProduct.setImageUrl(imageUrl);
+            }
+            //Update the product
 
-        productRepository.save(existingProduct);
+            productRepository.save(existingProduct);
+            eventPublisher.publishEvent(new ProductChangedEvent(before, ProductSnapshot.of(existingProduct)));
+        });
         return Response.builder().status(200).message("Product Successfully Updated").build();
     }
 
+    private String storeImage(MultipartFile imageFile) {
+        if (imageFile == null || imageFile.isEmpty()) return null;
+        return productImageStorage.store(imageFile);
+    }
+
     @Override
-    public Response getAllProducts() {
-        List<Product> products = productRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
-        List<ProductDTO> productDTOS = modelMapper.map(products, new TypeToken<List<ProductDTO>>() {
-        }.getType());
+    public Response getAllProducts(String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        //fetch one extra row to know whether there is a next page without a count query
+        List<ProductListView> rows = productRepository.findListPage(PageCursor.decode(cursor), Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) rows = rows.subList(0, pageSize);
+
+        List<ProductDTO> productDTOS = rows.stream().map(this::toListDTO).toList();
 
-        return Response.builder().status(200).message("success").products(productDTOS).build();
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .products(productDTOS)
+                .nextCursor(hasNext ? PageCursor.encode(rows.get(rows.size() - 1).getId()) : null)
+                .build();
     }
 
     @Override
     public Response getProductById(Long id) {
-        Product product = productRepository.findById(id).orElseThrow(() -> new NotFoundException("Product Not Found"));
+        Product product = productCache.findById(id).orElseThrow(() -> new NotFoundException("Product Not Found"));
+
+        return Response.builder().status(200).message("success").product(modelMapper.map(product, ProductDTO.class)).build();
+    }
+
+    @Override
+    public Response getProductBySku(String sku) {
+        Product product = productCache.findBySku(sku).orElseThrow(() -> new NotFoundException("Product Not Found"));
 
         return Response.builder().status(200).message("success").product(modelMapper.map(product, ProductDTO.class)).build();
     }
 
     @Override
+    @Transactional
     public Response deleteProduct(Long id) {
-        productRepository.findById(id).orElseThrow(() -> new NotFoundException("Product Not Found"));
+        Product product = productRepository.findById(id).orElseThrow(() -> new NotFoundException("Product Not Found"));
 
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductSnapshot.of(product), null));
 
         return Response.builder().status(200).message("Product Success Deleted").build();
     }
 
 
-    private String saveImage(MultipartFile imageFile) {
-        //validate check image
-        if (!imageFile.getContentType().startsWith("image/")) {
-            throw new IllegalArgumentException("Only image files are allowed");
-        }
-        //create the directory to store images if it doesn't exist
-        File directory = new File(IMAGE_DIRECTORY);
-        if (!directory.exists()) {
-            directory.mkdir();
-            log.info("Directory was created");
+    private ProductDTO toListDTO(ProductListView view) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(view.getId());
+        dto.setName(view.getName());
+        dto.setSku(view.getSku());
+        dto.setPrice(view.getPrice());
+        dto.setStockQuantity(view.getStockQuantity());
+        dto.setImageUrl(view.getImageUrl());
+        if (view.getCategoryId() != null) {
+            dto.setCategoryId(view.getCategoryId());
+            dto.setCategory(new CategoryDTO(view.getCategoryId(), view.getCategoryName()));
         }
-        //Generate unique file name for the image
-        String uniqueFileName = UUID.randomUUID() + "_" + imageFile.getOriginalFilename();
-        //Get the absolute path of the image
-        String imagePath = IMAGE_DIRECTORY + uniqueFileName;
-
-        try {
-            File destinationFile = new File(imagePath);
-            imageFile.transferTo(destinationFile); // We are transferring(writing to this folder)
-        } catch (Exception ex) {
-            throw new IllegalArgumentException("Error occurred while saving image" + ex.getMessage());
-        }
-        return imagePath;
+        return dto;
     }
 
-
     @Override
-    public Response bulkSaveProducts(MultipartFile file) {
-        List<Product> productsToSave = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        int successCount = 0;
-
-        try {
-            Workbook workbook = new XSSFWorkbook(file.getInputStream());
-            Sheet sheet = workbook.getSheetAt(0);
-
-            for (int i = 1; i < sheet.getPhysicalNumberOfRows(); i++) {
-                Row row = sheet.getRow(i);
-                try {
-                    if (row == null) continue;
-
-                    ProductDTO dto = new ProductDTO();
-                    dto.setName(getCellValue(row.getCell(0)));
-                    dto.setSku(getCellValue(row.getCell(1)));
-                    dto.setPrice(new BigDecimal(getCellValue(row.getCell(2))));
-                    dto.setStockQuantity((int) Double.parseDouble(getCellValue(row.getCell(3))));
-                    dto.setDescription(getCellValue(row.getCell(4)));
-                    String categoryIdStr = getCellValue(row.getCell(5));
-                    dto.setCategoryId((long) Double.parseDouble(categoryIdStr));
-
-                    // Validaciones básicas
-                    if (dto.getName() == null || dto.getName().isBlank()) throw new IllegalArgumentException("El nombre es requerido");
-                    if (dto.getSku() == null || dto.getSku().isBlank()) throw new IllegalArgumentException("El SKU es requerido");
-
-                    Category category = categoryRepository.findById(dto.getCategoryId())
-                            .orElseThrow(() -> new NotFoundException("Categoría no encontrada para el producto: " + dto.getName()));
-
-                    Optional<Product> existingProductOpt = productRepository.findBySku(dto.getSku());
-
-                    if (existingProductOpt.isPresent()) {
-                        // Actualizar producto existente
-                        Product existingProduct = existingProductOpt.get();
-                        existingProduct.setName(dto.getName());
-                        existingProduct.setPrice(dto.getPrice());
-                        existingProduct.setStockQuantity(existingProduct.getStockQuantity() + dto.getStockQuantity());
-                        existingProduct.setDescription(dto.getDescription());
-                        existingProduct.setCategory(category);
-                        productsToSave.add(existingProduct);
-                    } else {
-                        // Crear nuevo producto
-                        Product product = modelMapper.map(dto, Product.class);
-                        product.setCategory(category); // setear categoría manualmente
-                        productsToSave.add(product);
-                    }
-
-                    successCount++;
-
-                } catch (Exception e) {
-                    errors.add("Error en línea " + (i + 1) + ": " + e.getMessage());
-                }
-            }
-
-            if (!productsToSave.isEmpty()) {
-                productRepository.saveAll(productsToSave);
-            }
-
-        } catch (Exception e) {
-            errors.add("Error al procesar el archivo: " + e.getMessage());
-        }
-
+    public Response getTotalProducts() {
         return Response.builder()
-                .status(errors.isEmpty() ? 200 : 207)
-                .message(successCount + " productos procesados exitosamente" + (errors.isEmpty() ? "" : ". Algunos productos fallaron."))
+                .status(200)
+                .message("Resumen de productos obtenido correctamente")
+                .summary(productSummaryCounters.summary())
                 .build();
     }
 
-
     @Override
-    public Response getTotalProducts() {
-        List<Product> allProducts = productRepository.findAll();
-        Map<String, Long> productsByCategory = new HashMap<>();
-        long availableStockCount = 0;
-
-        for (Product product : allProducts) {
-            // Contar productos por categoría
-            String categoryName = product.getCategory().getName();
-            productsByCategory.put(categoryName, productsByCategory.getOrDefault(categoryName, 0L) + 1);
-
-            // Sumar el stock disponible total
-            availableStockCount += product.getStockQuantity();
+    public Response searchProducts(String query, int page, int size) {
+        if (!productSearchIndex.isReady()) {
+            return Response.builder().status(503).message("El índice de búsqueda se está construyendo, intente de nuevo").build();
         }
-
-        ProductSummaryDTO summary = ProductSummaryDTO.builder()
-                .totalProductsByCategory(productsByCategory)
-                .totalAvailableStock(availableStockCount)
-                .build();
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(query, Math.max(page, 0), pageSize);
+
+        List<ProductDTO> productDTOS = result.getHits().stream().map(hit -> {
+            ProductDTO dto = new ProductDTO();
+            dto.setId(hit.getId());
+            dto.setName(hit.getName());
+            dto.setSku(hit.getSku());
+            dto.setDescription(hit.getDescription());
+            dto.setPrice(hit.getPrice());
+            dto.setStockQuantity(hit.getStockQuantity());
+            if (hit.getCategoryId() != null) {
+                dto.setCategoryId(hit.getCategoryId());
+                dto.setCategory(new CategoryDTO(hit.getCategoryId(), hit.getCategoryName()));
+            }
+            return dto;
+        }).toList();
 
         return Response.builder()
                 .status(200)
-                .message("Resumen de productos obtenido correctamente")
-                .summary(summary)
+                .message("success")
+                .products(productDTOS)
+                .totalElements((long) result.getTotal())
+                .totalPages((result.getTotal() + pageSize - 1) / pageSize)
                 .build();
     }
 
-
-
-    private String getCellValue(Cell cell) {
-        if (cell == null) {
-            return "";
-        }
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                return String.valueOf(cell.getNumericCellValue());
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            default:
-                return "";
-        }
+    @Override
+    public Response getCacheStats() {
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .cacheStats(productCache.stats())
+                .build();
     }
 
 }
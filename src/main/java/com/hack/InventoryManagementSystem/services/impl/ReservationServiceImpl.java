@@ -0,0 +1,172 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.hack.InventoryManagementSystem.cache.ProductCache;
+import com.hack.InventoryManagementSystem.dto.ReservationDTO;
+import com.hack.InventoryManagementSystem.dto.ReservationRequest;
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.entity.Transaction;
+import com.hack.InventoryManagementSystem.entity.User;
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import com.hack.InventoryManagementSystem.events.StockChangedEvent;
+import com.hack.InventoryManagementSystem.events.TransactionsRecordedEvent;
+import com.hack.InventoryManagementSystem.exceptions.NotFoundException;
+import com.hack.InventoryManagementSystem.exceptions.OutOfStockException;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import com.hack.InventoryManagementSystem.repository.TransactionRepository;
+import com.hack.InventoryManagementSystem.services.ReservationService;
+import com.hack.InventoryManagementSystem.services.UserService;
+import com.hack.InventoryManagementSystem.stock.StockReservation;
+import com.hack.InventoryManagementSystem.stock.StockReservationTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationServiceImpl implements ReservationService {
+
+    private final StockReservationTable reservationTable;
+    private final ProductCache productCache;
+    private final ProductRepository productRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${inventory.reservation.default-ttl-seconds:900}")
+    private int defaultTtlSeconds;
+
+    @Value("${inventory.reservation.max-ttl-seconds:3600}")
+    private int maxTtlSeconds;
+
+    @Override
+    public Response reserve(ReservationRequest reservationRequest) {
+        Product product = productCache.findById(reservationRequest.getProductId()).orElseThrow(
+                () -> new NotFoundException("Product Not found"));
+        User user = userService.getCurrentLoggedInUser();
+
+        int ttlSeconds = reservationRequest.getTtlSeconds() != null ? reservationRequest.getTtlSeconds() : defaultTtlSeconds;
+        if (ttlSeconds > maxTtlSeconds) throw new IllegalArgumentException("ttlSeconds must be at most " + maxTtlSeconds);
+
+        StockReservation reservation = new StockReservation(UUID.randomUUID().toString(), product.getId(), user.getId(),
+                reservationRequest.getQuantity(), Instant.now().plus(Duration.ofSeconds(ttlSeconds)));
+
+        //checked against the cached stock: a sale committing at the same moment can still make the commit fail with 409
+        if (!reservationTable.tryHold(reservation, product.getStockQuantity())) {
+            throw new OutOfStockException("Stock insuficiente para reservar " + product.getName() + " (SKU " + product.getSku() + ")");
+        }
+
+        return Response.builder()
+                .status(200)
+                .message("Reservation Created Successfully")
+                .reservation(toDTO(reservation, product))
+                .build();
+    }
+
+    @Override
+    public Response commit(String reservationId) {
+        StockReservation reservation = findOwnReservation(reservationId);
+        if (!reservationTable.beginCommit(reservation)) throw new NotFoundException("Reservation Not found or expired");
+
+        try {
+            Product product = productCache.findById(reservation.getProductId()).orElseThrow(
+                    () -> new NotFoundException("Product Not found"));
+            transactionTemplate.executeWithoutResult(status -> {
+                //this hold is still counted in the table, only the other holds have to stay covered
+                int otherHolds = reservationTable.held(product.getId()) - reservation.getQuantity();
+                if (productRepository.decrementStock(product.getId(), reservation.getQuantity(), otherHolds) == 0) {
+                    throw new OutOfStockException("Stock insuficiente para " + product.getName() + " (SKU " + product.getSku() + ")");
+                }
+
+                Transaction transaction = Transaction.builder()
+                        .transactionType(TransactionType.SALE)
+                        .status(TransactionStatus.COMPLETED)
+                        .product(productRepository.getReferenceById(product.getId()))
+                        .user(userService.getCurrentLoggedInUser())
+                        .totalProducts(reservation.getQuantity())
+                        .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(reservation.getQuantity())))
+                        .description("Reserva " + reservation.getId())
+                        .build();
+                transactionRepository.save(transaction);
+                eventPublisher.publishEvent(new TransactionsRecordedEvent(List.of(transaction)));
+
+                String categoryName = product.getCategory() != null ? product.getCategory().getName() : null;
+                eventPublisher.publishEvent(new StockChangedEvent(product.getId(), categoryName, -reservation.getQuantity(), TransactionType.SALE));
+            });
+        } catch (RuntimeException e) {
+            reservationTable.abortCommit(reservation, Instant.now());
+            throw e;
+        }
+        reservationTable.completeCommit(reservation);
+
+        return Response.builder()
+                .status(200)
+                .message("Reservation Committed Successfully")
+                .build();
+    }
+
+    @Override
+    public Response release(String reservationId) {
+        StockReservation reservation = findOwnReservation(reservationId);
+        if (!reservationTable.release(reservation)) throw new NotFoundException("Reservation Not found or expired");
+
+        return Response.builder()
+                .status(200)
+                .message("Reservation Released Successfully")
+                .build();
+    }
+
+    @Override
+    public Response getAvailable(Long productId) {
+        Product product = productCache.findById(productId).orElseThrow(
+                () -> new NotFoundException("Product Not found"));
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .reservation(ReservationDTO.builder()
+                        .productId(productId)
+                        .availableQuantity(product.getStockQuantity() - reservationTable.held(productId))
+                        .build())
+                .build();
+    }
+
+    @Override
+    @Scheduled(fixedRateString = "${inventory.reservation.tick-ms:1000}")
+    public void expireReservations() {
+        int expired = reservationTable.expireDue(Instant.now());
+        if (expired > 0) log.info("Expired {} stock reservations, {} still live", expired, reservationTable.size());
+    }
+
+    //reservations are private to the user that made them; anything else reads as not found
+    private StockReservation findOwnReservation(String reservationId) {
+        StockReservation reservation = reservationTable.find(reservationId).orElseThrow(
+                () -> new NotFoundException("Reservation Not found or expired"));
+        User user = userService.getCurrentLoggedInUser();
+        if (!reservation.getUserId().equals(user.getId())) throw new NotFoundException("Reservation Not found or expired");
+        return reservation;
+    }
+
+    private ReservationDTO toDTO(StockReservation reservation, Product product) {
+        return ReservationDTO.builder()
+                .id(reservation.getId())
+                .productId(reservation.getProductId())
+                .quantity(reservation.getQuantity())
+                .expiresAt(reservation.getExpiresAt())
+                .availableQuantity(product.getStockQuantity() - reservationTable.held(product.getId()))
+                .build();
+    }
+}
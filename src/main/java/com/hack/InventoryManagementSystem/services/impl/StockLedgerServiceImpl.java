@@ -0,0 +1,117 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.hack.InventoryManagementSystem.cache.ProductCache;
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.dto.StockAsOfDTO;
+import com.hack.InventoryManagementSystem.dto.StockReplayView;
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.entity.StockSnapshot;
+import com.hack.InventoryManagementSystem.exceptions.NotFoundException;
+import com.hack.InventoryManagementSystem.repository.StockMovementRepository;
+import com.hack.InventoryManagementSystem.repository.StockSnapshotRepository;
+import com.hack.InventoryManagementSystem.services.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    //movements younger than this may still belong to an open transaction, they wait for the next run
+    private static final Duration SETTLE_LAG = Duration.ofMinutes(1);
+    private static final int SNAPSHOT_BATCH = 1000;
+
+    private static final String MOVED_PRODUCTS_SQL = "SELECT product_id, SUM(delta), MAX(id), MAX(created_at) FROM stock_movements " +
+            "WHERE id > ? AND id <= ? GROUP BY product_id";
+    private static final String LATEST_SNAPSHOTS_SQL = "SELECT s.product_id, s.stock_quantity, s.taken_at FROM stock_snapshots s " +
+            "JOIN (SELECT product_id, MAX(last_movement_id) AS last_movement_id FROM stock_snapshots WHERE product_id IN (%s) GROUP BY product_id) latest " +
+            "ON s.product_id = latest.product_id AND s.last_movement_id = latest.last_movement_id";
+    private static final String INSERT_SNAPSHOT_SQL = "INSERT INTO stock_snapshots (product_id, stock_quantity, last_movement_id, taken_at) VALUES (?, ?, ?, ?)";
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final ProductCache productCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public Response getStockAsOf(Long productId, LocalDateTime at) {
+        //nearest snapshot at or before the instant, then only the movements recorded after it
+        Optional<StockSnapshot> snapshot = stockSnapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByLastMovementIdDesc(productId, at);
+        StockReplayView replay = stockMovementRepository.replay(productId, snapshot.map(StockSnapshot::getLastMovementId).orElse(0L), at);
+        Optional<Product> product = productCache.findById(productId);
+        if (snapshot.isEmpty() && replay.getMovements() == 0 && product.isEmpty()) {
+            throw new NotFoundException("No stock history for product " + productId);
+        }
+
+        StockAsOfDTO stockAsOf = StockAsOfDTO.builder()
+                .productId(productId)
+                .at(at)
+                .stockQuantity(snapshot.map(StockSnapshot::getStockQuantity).orElse(0L) + replay.getDelta())
+                .currentStock(product.map(Product::getStockQuantity).orElse(null))
+                .snapshotAt(snapshot.map(StockSnapshot::getTakenAt).orElse(null))
+                .replayedMovements(replay.getMovements())
+                .build();
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .stockAsOf(stockAsOf)
+                .build();
+    }
+
+    //one snapshot per product that moved since the previous run, built from the ledger alone
+    @Override
+    @Scheduled(cron = "${inventory.stock-ledger.snapshot-cron:0 30 2 * * *}")
+    public void takeSnapshots() {
+        long started = System.currentTimeMillis();
+        Integer written = transactionTemplate.execute(status -> {
+            Long upTo = jdbcTemplate.queryForObject("SELECT MAX(id) FROM stock_movements WHERE created_at < ?",
+                    Long.class, Timestamp.valueOf(LocalDateTime.now().minus(SETTLE_LAG)));
+            //every run covers a whole id range, so the previous run's end is the start of this one for all products
+            Long from = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(last_movement_id), 0) FROM stock_snapshots", Long.class);
+            if (upTo == null || upTo <= from) return 0;
+
+            List<Object[]> moved = jdbcTemplate.query(MOVED_PRODUCTS_SQL, (rs, rowNum) -> new Object[]{
+                    rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getTimestamp(4)}, from, upTo);
+            for (int i = 0; i < moved.size(); i += SNAPSHOT_BATCH) {
+                writeSnapshots(moved.subList(i, Math.min(i + SNAPSHOT_BATCH, moved.size())));
+            }
+            return moved.size();
+        });
+        log.info("Stock ledger: {} snapshots written in {} ms", written, System.currentTimeMillis() - started);
+    }
+
+    private void writeSnapshots(List<Object[]> moved) {
+        String placeholders = String.join(",", Collections.nCopies(moved.size(), "?"));
+        Map<Long, Object[]> previous = new HashMap<>();
+        jdbcTemplate.query(String.format(LATEST_SNAPSHOTS_SQL, placeholders), rs -> {
+            previous.put(rs.getLong(1), new Object[]{rs.getLong(2), rs.getTimestamp(3)});
+        }, moved.stream().map(row -> row[0]).toArray());
+
+        List<Object[]> rows = new ArrayList<>(moved.size());
+        for (Object[] row : moved) {
+            Object[] last = previous.get((Long) row[0]);
+            long stock = (last != null ? (Long) last[0] : 0L) + (Long) row[1];
+            //takenAt never goes backwards, so every movement a snapshot covers is at or before it
+            Timestamp takenAt = (Timestamp) row[3];
+            if (last != null && ((Timestamp) last[1]).after(takenAt)) takenAt = (Timestamp) last[1];
+            rows.add(new Object[]{row[0], stock, row[2], takenAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, rows);
+    }
+}
@@ -0,0 +1,93 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.hack.InventoryManagementSystem.archive.ArchivedTransaction;
+import com.hack.InventoryManagementSystem.dto.CategoryDTO;
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+import com.hack.InventoryManagementSystem.dto.SupplierDTO;
+import com.hack.InventoryManagementSystem.dto.TransactionDTO;
+import com.hack.InventoryManagementSystem.dto.UserDTO;
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.entity.Supplier;
+import com.hack.InventoryManagementSystem.entity.Transaction;
+import com.hack.InventoryManagementSystem.entity.User;
+
+//hand-written mappings for transaction views: each one reads only the associations its query fetched,
+//where ModelMapper would walk every lazy proxy (and User.transactions) it can reach
+final class TransactionDTOMapper {
+
+    private TransactionDTOMapper() {
+    }
+
+    //scalar fields only, no user, product or supplier
+    static TransactionDTO toSummaryDTO(Transaction transaction) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(transaction.getId());
+        dto.setTotalProducts(transaction.getTotalProducts());
+        dto.setTotalPrice(transaction.getTotalPrice());
+        dto.setTransactionType(transaction.getTransactionType());
+        dto.setStatus(transaction.getStatus());
+        dto.setDescription(transaction.getDescription());
+        dto.setUpdatedAt(transaction.getUpdatedAt());
+        dto.setCreatedAt(transaction.getCreatedAt());
+        dto.setOriginalSaleId(transaction.getOriginalSaleId());
+        return dto;
+    }
+
+    //same fields for a row read back from the archive
+    static TransactionDTO toSummaryDTO(ArchivedTransaction transaction) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(transaction.getId());
+        dto.setTotalProducts(transaction.getTotalProducts());
+        dto.setTotalPrice(transaction.getTotalPrice());
+        dto.setTransactionType(transaction.getTransactionType());
+        dto.setStatus(transaction.getStatus());
+        dto.setDescription(transaction.getDescription());
+        dto.setUpdatedAt(transaction.getUpdatedAt());
+        dto.setCreatedAt(transaction.getCreatedAt());
+        dto.setOriginalSaleId(transaction.getOriginalSaleId());
+        return dto;
+    }
+
+    //summary plus the product; product and its category must have been fetched
+    static TransactionDTO toListDTO(Transaction transaction) {
+        TransactionDTO dto = toSummaryDTO(transaction);
+        if (transaction.getProduct() != null) dto.setProduct(toProductDTO(transaction.getProduct()));
+        return dto;
+    }
+
+    static ProductDTO toProductDTO(Product product) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setId(product.getId());
+        productDTO.setName(product.getName());
+        productDTO.setSku(product.getSku());
+        productDTO.setPrice(product.getPrice());
+        productDTO.setStockQuantity(product.getStockQuantity());
+        productDTO.setDescription(product.getDescription());
+        productDTO.setImageUrl(product.getImageUrl());
+        if (product.getCategory() != null) {
+            productDTO.setCategoryId(product.getCategory().getId());
+            productDTO.setCategory(new CategoryDTO(product.getCategory().getId(), product.getCategory().getName()));
+        }
+        return productDTO;
+    }
+
+    static SupplierDTO toSupplierDTO(Supplier supplier) {
+        SupplierDTO supplierDTO = new SupplierDTO();
+        supplierDTO.setId(supplier.getId());
+        supplierDTO.setName(supplier.getName());
+        supplierDTO.setAddress(supplier.getAddress());
+        return supplierDTO;
+    }
+
+    //no password and no transaction list
+    static UserDTO toUserSummaryDTO(User user) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(user.getId());
+        userDTO.setName(user.getName());
+        userDTO.setEmail(user.getEmail());
+        userDTO.setPhoneNumber(user.getPhoneNumber());
+        userDTO.setRole(user.getRole());
+        userDTO.setCreatedAt(user.getCreatedAt());
+        return userDTO;
+    }
+}
@@ -0,0 +1,158 @@
+package com.hack.InventoryManagementSystem.services.impl;
+
+import com.hack.InventoryManagementSystem.archive.TransactionArchive;
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.dto.TransactionRollupDTO;
+import com.hack.InventoryManagementSystem.entity.Transaction;
+import com.hack.InventoryManagementSystem.events.TransactionsRecordedEvent;
+import com.hack.InventoryManagementSystem.exceptions.ServiceUnavailableException;
+import com.hack.InventoryManagementSystem.repository.TransactionDailyRollupRepository;
+import com.hack.InventoryManagementSystem.services.TransactionRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionRollupServiceImpl implements TransactionRollupService {
+
+    private static final String UPSERT_SQL = "INSERT INTO transaction_daily_rollups " +
+            "(day, product_id, transaction_type, tx_count, units, total_price) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE tx_count = tx_count + VALUES(tx_count), units = units + VALUES(units), " +
+            "total_price = total_price + VALUES(total_price)";
+    //recomputes one month from the created_at index; the new totals replace whatever the live upserts left there
+    private static final String REBUILD_MONTH_SQL = "INSERT INTO transaction_daily_rollups " +
+            "(day, product_id, transaction_type, tx_count, units, total_price) " +
+            "SELECT DATE(created_at), product_id, transaction_type, COUNT(*), COALESCE(SUM(total_products), 0), COALESCE(SUM(total_price), 0) " +
+            "FROM transactions WHERE created_at >= ? AND created_at < ? AND product_id IS NOT NULL AND transaction_type IS NOT NULL " +
+            "GROUP BY DATE(created_at), product_id, transaction_type " +
+            "ON DUPLICATE KEY UPDATE tx_count = VALUES(tx_count), units = VALUES(units), total_price = VALUES(total_price)";
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    private final TransactionDailyRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor transactionMaintenanceExecutor;
+    private final TransactionArchive transactionArchive;
+
+    //same database transaction as the insert, so rollups and transactions commit or roll back together
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTransactionsRecorded(TransactionsRecordedEvent event) {
+        //a basket can hit the same day x product x type several times; one upsert per key
+        Map<List<Object>, long[]> counts = new LinkedHashMap<>();
+        Map<List<Object>, BigDecimal> prices = new LinkedHashMap<>();
+        for (Transaction transaction : event.getTransactions()) {
+            if (transaction.getProduct() == null || transaction.getTransactionType() == null) continue;
+            List<Object> key = List.of(transaction.getCreatedAt().toLocalDate(), transaction.getProduct().getId(),
+                    transaction.getTransactionType().name());
+            long[] count = counts.computeIfAbsent(key, k -> new long[2]);
+            count[0]++;
+            count[1] += transaction.getTotalProducts() != null ? transaction.getTotalProducts() : 0;
+            prices.merge(key, Objects.requireNonNullElse(transaction.getTotalPrice(), BigDecimal.ZERO), BigDecimal::add);
+        }
+        if (counts.isEmpty()) return;
+
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(new Object[]{
+                Date.valueOf((LocalDate) key.get(0)), key.get(1), key.get(2), count[0], count[1], prices.get(key)}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    @Override
+    public Response getDailyRollups(LocalDate from, LocalDate to, Long productId) {
+        checkRange(from, to);
+        List<TransactionRollupDTO> rollups = rollupRepository.findDaily(from, to, productId).stream()
+                .map(view -> TransactionRollupDTO.builder()
+                        .day(view.getDay())
+                        .transactionType(view.getTransactionType())
+                        .count(view.getTxCount())
+                        .units(view.getUnits())
+                        .totalPrice(view.getTotalPrice())
+                        .build())
+                .toList();
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .rollups(rollups)
+                .build();
+    }
+
+    @Override
+    public Response getRollupTotals(LocalDate from, LocalDate to, Long productId) {
+        checkRange(from, to);
+        List<TransactionRollupDTO> rollups = rollupRepository.findTotals(from, to, productId).stream()
+                .map(view -> TransactionRollupDTO.builder()
+                        .transactionType(view.getTransactionType())
+                        .count(view.getTxCount())
+                        .units(view.getUnits())
+                        .totalPrice(view.getTotalPrice())
+                        .build())
+                .toList();
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .rollups(rollups)
+                .build();
+    }
+
+    @Override
+    public Response rebuildRollups() {
+        try {
+            transactionMaintenanceExecutor.execute(this::rebuild);
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException("A maintenance task is already queued, try again later");
+        }
+        return Response.builder()
+                .status(202)
+                .message("Transaction rollup rebuild started")
+                .build();
+    }
+
+    //month by month, so each statement only reads one created_at range and the undo log stays small
+    private void rebuild() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM transactions", Timestamp.class);
+        if (oldest == null) return;
+
+        long started = System.currentTimeMillis();
+        YearMonth month = YearMonth.from(oldest.toLocalDateTime());
+        //months that reach into the archive keep the rollups written while their rows were live
+        LocalDateTime lastArchivedAt = transactionArchive.lastArchivedAt();
+        if (lastArchivedAt != null && !month.isAfter(YearMonth.from(lastArchivedAt))) month = YearMonth.from(lastArchivedAt).plusMonths(1);
+        YearMonth last = YearMonth.now();
+        int rows = 0;
+        while (!month.isAfter(last)) {
+            rows += jdbcTemplate.update(REBUILD_MONTH_SQL,
+                    Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                    Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+            month = month.plusMonths(1);
+        }
+        log.info("Transaction rollups rebuilt from {} in {} ms ({} rows affected)", oldest, System.currentTimeMillis() - started, rows);
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) throw new IllegalArgumentException("from must not be after to");
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must be at most " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
@@ -1,5 +1,14 @@
 package com.hack.InventoryManagementSystem.services.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hack.InventoryManagementSystem.archive.ArchivedTransaction;
+import com.hack.InventoryManagementSystem.archive.TransactionArchive;
+import com.hack.InventoryManagementSystem.archive.TransactionArchiver;
+import com.hack.InventoryManagementSystem.cache.ProductCache;
+import com.hack.InventoryManagementSystem.dto.BasketLine;
+import com.hack.InventoryManagementSystem.dto.BasketLineResult;
+import com.hack.InventoryManagementSystem.dto.BasketRequest;
 import com.hack.InventoryManagementSystem.dto.Response;
 import com.hack.InventoryManagementSystem.dto.TransactionDTO;
 import com.hack.InventoryManagementSystem.dto.TransactionsRequest;
@@ -7,42 +16,84 @@ import com.hack.InventoryManagementSystem.entity.Product;
 import com.hack.InventoryManagementSystem.entity.Supplier;
 import com.hack.InventoryManagementSystem.entity.Transaction;
 import com.hack.InventoryManagementSystem.entity.User;
+import com.hack.InventoryManagementSystem.enums.ArchiveRunResult;
 import com.hack.InventoryManagementSystem.enums.TransactionStatus;
 import com.hack.InventoryManagementSystem.enums.TransactionType;
+import com.hack.InventoryManagementSystem.events.StockChangedEvent;
+import com.hack.InventoryManagementSystem.events.TransactionsRecordedEvent;
 import com.hack.InventoryManagementSystem.exceptions.NameValueRequiredException;
 import com.hack.InventoryManagementSystem.exceptions.NotFoundException;
+import com.hack.InventoryManagementSystem.exceptions.OutOfStockException;
+import com.hack.InventoryManagementSystem.exceptions.ServiceUnavailableException;
 import com.hack.InventoryManagementSystem.repository.ProductRepository;
 import com.hack.InventoryManagementSystem.repository.SupplierRepository;
 import com.hack.InventoryManagementSystem.repository.TransactionRepository;
+import com.hack.InventoryManagementSystem.repository.UserRepository;
+import com.hack.InventoryManagementSystem.search.TransactionSearchIndex;
 import com.hack.InventoryManagementSystem.services.TransactionService;
 import com.hack.InventoryManagementSystem.services.UserService;
+import com.hack.InventoryManagementSystem.stock.StockBatchUpdater;
+import com.hack.InventoryManagementSystem.stock.StockGroupCommitter;
+import com.hack.InventoryManagementSystem.stock.StockReservationTable;
+import com.hack.InventoryManagementSystem.stock.TransactionBatchWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final int MAX_BASKET_LINES = 500;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final TransactionRepository transactionRepository;
-    private final ModelMapper modelMapper;
     private final SupplierRepository supplierRepository;
+    private final UserRepository userRepository;
     private final UserService userService;
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final StockGroupCommitter stockGroupCommitter;
+    private final StockReservationTable reservationTable;
+    private final StockBatchUpdater stockBatchUpdater;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionSearchIndex transactionSearchIndex;
+    private final TransactionArchive transactionArchive;
+    private final TransactionArchiver transactionArchiver;
+    private final ThreadPoolTaskExecutor transactionMaintenanceExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
 
     @Override
+    @Transactional
     public Response restockInventory(TransactionsRequest transactionsRequest) {
         Long productId = transactionsRequest.getProductId();
         Long supplierId = transactionsRequest.getSupplierId();
@@ -50,21 +101,23 @@ public class TransactionServiceImpl implements TransactionService {
 
         if (supplierId == null) throw new NameValueRequiredException("Supplier Id Is Required");
 
-        Product product = productRepository.findById(productId).orElseThrow(
+        Product product = productCache.findById(productId).orElseThrow(
                 () -> new NotFoundException("Product Not found"));
         Supplier supplier = supplierRepository.findById(supplierId).orElseThrow(
                 () -> new NotFoundException("Supplier Not found"));
         User user = userService.getCurrentLoggedInUser();
 
-        //Update the stock quantity and resave
-        product.setStockQuantity(product.getStockQuantity() + quantity);
-        productRepository.save(product);
+        //Update the stock quantity in place
+        if (productRepository.incrementStock(productId, quantity) == 0) {
+            throw new NotFoundException("Product Not found");
+        }
+        publishStockChange(product, quantity, TransactionType.PURCHASE);
 
         //Create transaction
         Transaction transaction = Transaction.builder()
                 .transactionType(TransactionType.PURCHASE)
                 .status(TransactionStatus.COMPLETED)
-                .product(product)
+                .product(productRepository.getReferenceById(productId))
                 .user(user)
                 .supplier(supplier)
                 .totalProducts(quantity)
@@ -73,6 +126,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         transactionRepository.save(transaction);
+        eventPublisher.publishEvent(new TransactionsRecordedEvent(List.of(transaction)));
         return Response.builder()
                 .status(200)
                 .message("Transaction Made Successfully")
@@ -80,31 +134,44 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    //not @Transactional, and open-in-view is off: a grouped sale must not hold a connection while it waits for its batch
     public Response sell(TransactionsRequest transactionsRequest) {
         Long productId = transactionsRequest.getProductId();
         Integer quantity = transactionsRequest.getQuantity();
 
-        Product product = productRepository.findById(productId).orElseThrow(
+        Product product = productCache.findById(productId).orElseThrow(
                 () -> new NotFoundException("Product Not found"));
 
         User user = userService.getCurrentLoggedInUser();
 
-        //Update the stock quantity and resave
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
-
-        //Create transaction
-        Transaction transaction = Transaction.builder()
-                .transactionType(TransactionType.SALE)
-                .status(TransactionStatus.COMPLETED)
-                .product(product)
-                .user(user)
-                .totalProducts(quantity)
-                .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
-                .description(transactionsRequest.getDescription())
-                .build();
-
-        transactionRepository.save(transaction);
+        //hot SKUs: the sale joins a batch that is committed together with its neighbours. A caller that already opened
+        //a transaction (an idempotent request storing its key) needs the sale inside it, so it takes the direct path
+        if (stockGroupCommitter.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            stockGroupCommitter.sell(product, user, quantity, transactionsRequest.getDescription());
+            return Response.builder()
+                    .status(200)
+                    .message("Transaction Sold Successfully")
+                    .build();
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            //Take the stock in one conditional update so concurrent sales cannot oversell
+            decrementStock(product, quantity, TransactionType.SALE);
+
+            //Create transaction
+            Transaction transaction = Transaction.builder()
+                    .transactionType(TransactionType.SALE)
+                    .status(TransactionStatus.COMPLETED)
+                    .product(productRepository.getReferenceById(productId))
+                    .user(user)
+                    .totalProducts(quantity)
+                    .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                    .description(transactionsRequest.getDescription())
+                    .build();
+
+            transactionRepository.save(transaction);
+            eventPublisher.publishEvent(new TransactionsRecordedEvent(List.of(transaction)));
+        });
         return Response.builder()
                 .status(200)
                 .message("Transaction Sold Successfully")
@@ -112,6 +179,84 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    public Response processBasket(BasketRequest basketRequest) {
+        List<BasketLine> lines = basketRequest.getLines();
+        if (lines.size() > MAX_BASKET_LINES) throw new IllegalArgumentException("A basket can have at most " + MAX_BASKET_LINES + " lines");
+
+        //one query for every product of the basket and one for the user, whatever the number of lines
+        Map<Long, Product> products = productRepository.findAllById(lines.stream().map(BasketLine::getProductId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Supplier supplier = null;
+        if (lines.stream().anyMatch(line -> line.getTransactionType() == TransactionType.PURCHASE)) {
+            if (basketRequest.getSupplierId() == null) throw new NameValueRequiredException("Supplier Id Is Required");
+            supplier = supplierRepository.findById(basketRequest.getSupplierId()).orElseThrow(
+                    () -> new NotFoundException("Supplier Not found"));
+        }
+        User user = userService.getCurrentLoggedInUser();
+
+        BasketLineResult[] results = new BasketLineResult[lines.size()];
+        List<Integer> saleLines = new ArrayList<>();
+        List<Integer> purchaseLines = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            BasketLine line = lines.get(i);
+            if (!products.containsKey(line.getProductId())) {
+                results[i] = lineResult(i, line, false, "Product Not found");
+            } else if (line.getTransactionType() == TransactionType.SALE) {
+                saleLines.add(i);
+            } else if (line.getTransactionType() == TransactionType.PURCHASE) {
+                purchaseLines.add(i);
+            } else {
+                results[i] = lineResult(i, line, false, "Only SALE and PURCHASE lines are allowed in a basket");
+            }
+        }
+
+        Supplier basketSupplier = supplier;
+        transactionTemplate.executeWithoutResult(status -> {
+            //purchases go first so a basket that restocks and sells the same product can sell what it just received
+            boolean[] purchased = stockBatchUpdater.increment(purchaseLines.stream().map(lines::get).toList());
+            boolean[] sold = stockBatchUpdater.decrement(saleLines.stream().map(lines::get).toList());
+
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < purchaseLines.size(); i++) {
+                int index = purchaseLines.get(i);
+                results[index] = lineResult(index, lines.get(index), purchased[i], purchased[i] ? null : "Product Not found");
+            }
+            for (int i = 0; i < saleLines.size(); i++) {
+                int index = saleLines.get(i);
+                results[index] = lineResult(index, lines.get(index), sold[i], sold[i] ? null : "Stock insuficiente");
+            }
+            for (int i = 0; i < lines.size(); i++) {
+                if (!results[i].isApplied()) continue;
+                BasketLine line = lines.get(i);
+                Product product = products.get(line.getProductId());
+                boolean purchase = line.getTransactionType() == TransactionType.PURCHASE;
+                transactions.add(Transaction.builder()
+                        .transactionType(line.getTransactionType())
+                        .status(TransactionStatus.COMPLETED)
+                        .product(product)
+                        .user(user)
+                        .supplier(purchase ? basketSupplier : null)
+                        .totalProducts(line.getQuantity())
+                        .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(line.getQuantity())))
+                        .description(line.getDescription() != null ? line.getDescription() : basketRequest.getDescription())
+                        .build());
+                publishStockChange(product, purchase ? line.getQuantity() : -line.getQuantity(), line.getTransactionType());
+            }
+            transactionBatchWriter.insert(transactions);
+        });
+
+        long appliedLines = Arrays.stream(results).filter(BasketLineResult::isApplied).count();
+        int status = appliedLines == lines.size() ? 200 : appliedLines == 0 ? 409 : 207;
+        return Response.builder()
+                .status(status)
+                .message(status == 200 ? "Basket Processed Successfully" : appliedLines + " of " + lines.size() + " basket lines applied")
+                .basketLines(Arrays.asList(results))
+                .build();
+    }
+
+    @Override
+    @Transactional
     public Response returnToSupplier(TransactionsRequest transactionsRequest) {
         Long productId = transactionsRequest.getProductId();
         Long supplierId = transactionsRequest.getSupplierId();
@@ -119,21 +264,19 @@ public class TransactionServiceImpl implements TransactionService {
 
         if (supplierId == null) throw new NameValueRequiredException("Supplier Id is Required");
 
-        Product product = productRepository.findById(productId).orElseThrow(
+        Product product = productCache.findById(productId).orElseThrow(
                 () -> new NotFoundException("Product Not found"));
         Supplier supplier = supplierRepository.findById(supplierId).orElseThrow(
                 () -> new NotFoundException("Supplier Not found"));
         User user = userService.getCurrentLoggedInUser();
 
-        //Update the stock quantity and resave
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
+        decrementStock(product, quantity, TransactionType.RETURN_TO_SUPPLIER);
 
         //Create transaction
         Transaction transaction = Transaction.builder()
                 .transactionType(TransactionType.RETURN_TO_SUPPLIER)
                 .status(TransactionStatus.PROCESSING)
-                .product(product)
+                .product(productRepository.getReferenceById(productId))
                 .user(user)
                 .supplier(supplier)
                 .totalProducts(quantity)
@@ -142,6 +285,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         transactionRepository.save(transaction);
+        eventPublisher.publishEvent(new TransactionsRecordedEvent(List.of(transaction)));
         return Response.builder()
                 .status(200)
                 .message("Transaction Returned Successfully Initialized")
@@ -149,30 +293,83 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public Response getAllTransactions(int page, int size, String searchText) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
-        Page<Transaction> transactionPage = transactionRepository.searchTransactions(searchText, pageable);
-        List<TransactionDTO> transactionDTOS =
-                modelMapper.map(transactionPage.getContent(), new TypeToken<List<TransactionDTO>>() {
-                }.getType());
-        transactionDTOS.forEach(transactionDTOItem -> {
-            transactionDTOItem.setUser(null);
-            transactionDTOItem.setSupplier(null);
-        });
-        return Response.builder()
+    public Response getAllTransactions(int page, int size, String searchText, Long beforeId, boolean includeTotals) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        //with a beforeId the slice starts right below it and page is ignored
+        int pageNumber = beforeId != null ? 0 : Math.max(page, 0);
+        boolean search = searchText != null && !searchText.isBlank();
+
+        List<Transaction> transactions;
+        boolean hasNext;
+        if (search) {
+            //trigram side table instead of a LIKE scan over the whole table; one extra row tells whether more follow
+            List<Transaction> rows = transactionSearchIndex.search(searchText, beforeId, pageNumber * pageSize, pageSize + 1);
+            hasNext = rows.size() > pageSize;
+            transactions = hasNext ? rows.subList(0, pageSize) : rows;
+        } else {
+            //Slice reads size + 1 rows and never runs a COUNT
+            Slice<Transaction> slice = transactionRepository.findSlice(beforeId, PageRequest.of(pageNumber, pageSize));
+            hasNext = slice.hasNext();
+            transactions = slice.getContent();
+        }
+
+        List<TransactionDTO> transactionDTOS = transactions.stream().map(TransactionDTOMapper::toListDTO).toList();
+        Response.ResponseBuilder response = Response.builder()
                 .status(200)
                 .message("Success")
                 .transactions(transactionDTOS)
+                .nextCursor(hasNext && !transactions.isEmpty() ? String.valueOf(transactions.get(transactions.size() - 1).getId()) : null);
+
+        //totals cost a full count, only on request; a search is counted with the same predicate that found its rows
+        if (includeTotals) {
+            long total = search ? transactionSearchIndex.count(searchText) : transactionRepository.count();
+            response.totalElements(total).totalPages((int) ((total + pageSize - 1) / pageSize));
+        }
+        return response.build();
+    }
+
+    @Override
+    public Response rebuildSearchIndex() {
+        try {
+            transactionMaintenanceExecutor.execute(() -> {
+                if (!transactionSearchIndex.rebuild()) log.info("Transaction search index rebuild already running");
+            });
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException("A maintenance task is already queued, try again later");
+        }
+        return Response.builder()
+                .status(202)
+                .message("Transaction search index rebuild started")
                 .build();
     }
 
     @Override
-    public Response getTransactionsById(Long id) {
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Transaction Not found"));
+    public Response archiveTransactions() {
+        try {
+            transactionMaintenanceExecutor.execute(() -> {
+                if (transactionArchiver.archiveOldTransactions() == ArchiveRunResult.ALREADY_RUNNING) {
+                    log.info("Transaction archive run already running");
+                }
+            });
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException("A maintenance task is already queued, try again later");
+        }
+        return Response.builder()
+                .status(202)
+                .message("Transaction archive run started")
+                .build();
+    }
 
-        TransactionDTO transactionDTO = modelMapper.map(transaction, TransactionDTO.class);
-        transactionDTO.getUser().setTransactions(null); // removing the user transaction list
+    @Override
+    public Response getTransactionsById(Long id) {
+        //one statement for transaction, product, category, supplier and user; User.transactions is never touched
+        Optional<Transaction> found = transactionRepository.findDetailById(id);
+        if (found.isEmpty()) return getArchivedTransaction(id);
+        Transaction transaction = found.get();
+
+        TransactionDTO transactionDTO = TransactionDTOMapper.toListDTO(transaction);
+        if (transaction.getSupplier() != null) transactionDTO.setSupplier(TransactionDTOMapper.toSupplierDTO(transaction.getSupplier()));
+        if (transaction.getUser() != null) transactionDTO.setUser(TransactionDTOMapper.toUserSummaryDTO(transaction.getUser()));
         return Response.builder()
                 .status(200)
                 .message("Success")
@@ -180,26 +377,73 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
     }
 
-    @Override
-    public Response getAllTransactionsByMonthAndYear(int month, int year) {
-        List<Transaction> transactions = transactionRepository.findAllByMonthAndYear(month, year);
-
-        List<TransactionDTO> transactionDTOS = modelMapper
-                .map(transactions, new TypeToken<List<TransactionDTO>>() {
-                }.getType());
+    //rows older than the archive horizon are read back from their segment; the references are resolved one by one
+    private Response getArchivedTransaction(Long id) {
+        ArchivedTransaction archived = transactionArchive.findById(id)
+                .orElseThrow(() -> new NotFoundException("Transaction Not found"));
 
-        transactionDTOS.forEach(transactionDTOItem -> {
-            transactionDTOItem.setUser(null);
-            transactionDTOItem.setProduct(null);
-            transactionDTOItem.setSupplier(null);
-        });
+        TransactionDTO transactionDTO = TransactionDTOMapper.toSummaryDTO(archived);
+        productCache.findById(archived.getProductId())
+                .ifPresent(product -> transactionDTO.setProduct(TransactionDTOMapper.toProductDTO(product)));
+        if (archived.getSupplierId() != null) {
+            supplierRepository.findById(archived.getSupplierId())
+                    .ifPresent(supplier -> transactionDTO.setSupplier(TransactionDTOMapper.toSupplierDTO(supplier)));
+        }
+        if (archived.getUserId() != null) {
+            userRepository.findById(archived.getUserId())
+                    .ifPresent(user -> transactionDTO.setUser(TransactionDTOMapper.toUserSummaryDTO(user)));
+        }
         return Response.builder()
                 .status(200)
                 .message("Success")
-                .transactions(transactionDTOS)
+                .transaction(transactionDTO)
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTransactionsByMonthAndYear(int month, int year, OutputStream out) throws IOException {
+        if (month < 1 || month > 12) throw new IllegalArgumentException("month must be between 1 and 12");
+        YearMonth yearMonth = YearMonth.of(year, month);
+        LocalDateTime from = yearMonth.atDay(1).atStartOfDay();
+        LocalDateTime to = yearMonth.plusMonths(1).atDay(1).atStartOfDay();
+        long watermark = transactionArchive.watermark();
+
+        //same body as the old Response, but the array is written row by row instead of being built on the heap
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Transaction> transactions = transactionRepository.streamByCreatedAtRange(from, to)) {
+            generator.writeStartObject();
+            generator.writeNumberField("status", 200);
+            generator.writeStringField("message", "Success");
+            generator.writeArrayFieldStart("transactions");
+            //archived rows are all older than the table's, so they go first
+            transactionArchive.forEachCreatedBetween(from, to, archived -> {
+                try {
+                    generator.writeObject(TransactionDTOMapper.toSummaryDTO(archived));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            transactions.forEach(transaction -> {
+                //archived but not yet deleted by an interrupted run
+                if (transaction.getId() <= watermark) {
+                    entityManager.detach(transaction);
+                    return;
+                }
+                try {
+                    generator.writeObject(TransactionDTOMapper.toSummaryDTO(transaction));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                //read-only rows, nothing to flush back
+                entityManager.detach(transaction);
+            });
+            generator.writeEndArray();
+            generator.writeObjectField("timestamp", LocalDateTime.now());
+            generator.writeEndObject();
+        }
+    }
+
     @Override
     public Response updateTransactions(Long transactionId, TransactionStatus transactionStatus) {
         Transaction existingTransaction = transactionRepository.findById(transactionId)
@@ -216,6 +460,8 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
     }
 
+    @Override
+    @Transactional
     public Response returnSaleTransaction(TransactionsRequest transactionsRequest, Long originalSaleId) {
         Transaction originalSale = transactionRepository.findById(originalSaleId)
                 .orElseThrow(() -> new NotFoundException("Original Sale Transaction not found"));
@@ -230,8 +476,8 @@ public class TransactionServiceImpl implements TransactionService {
         Integer quantity = originalSale.getTotalProducts();
 
         // Devolver el producto al inventario
-        product.setStockQuantity(product.getStockQuantity() + quantity);
-        productRepository.save(product);
+        productRepository.incrementStock(product.getId(), quantity);
+        publishStockChange(product, quantity, TransactionType.RETURN);
 
         // Crear transacción de tipo RETURN
         Transaction returnTransaction = Transaction.builder()
@@ -247,6 +493,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
 
         transactionRepository.save(returnTransaction);
+        eventPublisher.publishEvent(new TransactionsRecordedEvent(List.of(returnTransaction)));
 
         return Response.builder()
                 .status(200)
@@ -254,4 +501,26 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
     }
 
+    private static BasketLineResult lineResult(int index, BasketLine line, boolean applied, String message) {
+        return BasketLineResult.builder()
+                .line(index)
+                .productId(line.getProductId())
+                .transactionType(line.getTransactionType())
+                .applied(applied)
+                .message(message)
+                .build();
+    }
+
+    private void decrementStock(Product product, int quantity, TransactionType transactionType) {
+        if (productRepository.decrementStock(product.getId(), quantity, reservationTable.held(product.getId())) == 0) {
+            throw new OutOfStockException("Stock insuficiente para " + product.getName() + " (SKU " + product.getSku() + ")");
+        }
+        publishStockChange(product, -quantity, transactionType);
+    }
+
+    private void publishStockChange(Product product, int delta, TransactionType transactionType) {
+        String categoryName = product.getCategory() != null ? product.getCategory().getName() : null;
+        eventPublisher.publishEvent(new StockChangedEvent(product.getId(), categoryName, delta, transactionType));
+    }
+
 }
@@ -3,11 +3,14 @@ package com.hack.InventoryManagementSystem.services.impl;
 import com.hack.InventoryManagementSystem.dto.LoginRequest;
 import com.hack.InventoryManagementSystem.dto.RegisterRequest;
 import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.dto.TransactionDTO;
 import com.hack.InventoryManagementSystem.dto.UserDTO;
+import com.hack.InventoryManagementSystem.entity.Transaction;
 import com.hack.InventoryManagementSystem.entity.User;
 import com.hack.InventoryManagementSystem.enums.UserRole;
 import com.hack.InventoryManagementSystem.exceptions.InvalidCredentialsException;
 import com.hack.InventoryManagementSystem.exceptions.NotFoundException;
+import com.hack.InventoryManagementSystem.repository.TransactionRepository;
 import com.hack.InventoryManagementSystem.repository.UserRepository;
 import com.hack.InventoryManagementSystem.security.JwtUtils;
 import com.hack.InventoryManagementSystem.services.UserService;
@@ -15,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -29,7 +33,11 @@ import java.util.List;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
     private final JwtUtils jwtUtils;
@@ -79,6 +87,8 @@ public class UserServiceImpl implements UserService {
     @Override
     public Response getAllUsers() {
         List<User> users = userRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+        //detached rows: the lazy transaction list must not be touched by the mapper
+        users.forEach(user -> user.setTransactions(null));
         List<UserDTO> userDTOS = modelMapper.map(users, new TypeToken<List<UserDTO>>() {
         }.getType());
 
@@ -138,17 +148,52 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Response getUserTransaction(Long id) {
+        //the user with the newest page of history; older pages come from getUserTransactions
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User not Found"));
-        UserDTO userDTO = modelMapper.map(user, UserDTO.class);
-        userDTO.getTransactions().forEach(transactionDTO -> {
-            transactionDTO.setUser(null);
-            transactionDTO.setSupplier(null);
-        });
+        TransactionPage page = loadHistory(id, null, DEFAULT_HISTORY_PAGE_SIZE);
+
+        UserDTO userDTO = TransactionDTOMapper.toUserSummaryDTO(user);
+        userDTO.setTransactions(page.transactions);
         return Response.builder()
                 .status(200)
                 .message("success")
                 .user(userDTO)
+                .nextCursor(page.nextCursor)
+                .build();
+    }
+
+    @Override
+    public Response getUserTransactions(Long id, Long beforeId, int size) {
+        if (!userRepository.existsById(id)) throw new NotFoundException("User not Found");
+        TransactionPage page = loadHistory(id, beforeId, size);
+
+        return Response.builder()
+                .status(200)
+                .message("success")
+                .transactions(page.transactions)
+                .nextCursor(page.nextCursor)
                 .build();
     }
+
+    //one keyset query with product and category joined; size + 1 rows tell whether an older page exists
+    private TransactionPage loadHistory(Long userId, Long beforeId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        List<Transaction> rows = transactionRepository.findUserHistory(userId, beforeId, Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<Transaction> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return new TransactionPage(
+                page.stream().map(TransactionDTOMapper::toListDTO).toList(),
+                hasNext ? String.valueOf(page.get(page.size() - 1).getId()) : null);
+    }
+
+    private static class TransactionPage {
+        private final List<TransactionDTO> transactions;
+        private final String nextCursor;
+
+        private TransactionPage(List<TransactionDTO> transactions, String nextCursor) {
+            this.transactions = transactions;
+            this.nextCursor = nextCursor;
+        }
+    }
 }
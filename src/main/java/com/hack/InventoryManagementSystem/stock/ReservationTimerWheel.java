@@ -0,0 +1,60 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel for reservation expiry: a reservation goes into the slot of its deadline tick, and each tick
+ * only looks at one slot. Entries whose deadline is more than one revolution away stay in the slot until their
+ * round comes up. Adding is lock-free; advance() is meant to be called from a single thread.
+ */
+class ReservationTimerWheel {
+
+    private final List<Queue<StockReservation>> slots;
+    private final long tickMillis;
+    private volatile long currentTick;
+
+    ReservationTimerWheel(int slotCount, long tickMillis, Instant start) {
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) slots.add(new ConcurrentLinkedQueue<>());
+        this.tickMillis = tickMillis;
+        this.currentTick = tickOf(start);
+    }
+
+    //a deadline whose tick was already walked goes into the next slot to be walked, not a revolution later
+    void add(StockReservation reservation) {
+        slot(Math.max(tickOf(reservation.getExpiresAt()), currentTick)).add(reservation);
+    }
+
+    //walks every tick up to now and returns the reservations that are due
+    List<StockReservation> advance(Instant now) {
+        List<StockReservation> due = new ArrayList<>();
+        long targetTick = tickOf(now);
+        //after a long pause one pass over the whole wheel is enough
+        long fromTick = Math.max(currentTick, targetTick - slots.size() + 1);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            Queue<StockReservation> slot = slot(tick);
+            List<StockReservation> notYet = new ArrayList<>();
+            StockReservation reservation;
+            while ((reservation = slot.poll()) != null) {
+                if (reservation.getState().get() == StockReservation.DONE) continue;
+                if (tickOf(reservation.getExpiresAt()) <= targetTick) due.add(reservation);
+                else notYet.add(reservation);
+            }
+            slot.addAll(notYet);
+        }
+        currentTick = targetTick + 1;
+        return due;
+    }
+
+    private Queue<StockReservation> slot(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.ceilDiv(instant.toEpochMilli(), tickMillis);
+    }
+}
@@ -0,0 +1,80 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import com.hack.InventoryManagementSystem.dto.BasketLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Applies many stock changes as JDBC batches of conditional updates. Each statement keeps its own WHERE guard, so
+ * the update counts tell which lines went through; lines on the same product are applied in list order.
+ * Must run inside the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockBatchUpdater {
+
+    private static final String DECREMENT_SQL = "UPDATE products SET stock_quantity = stock_quantity - ? " +
+            "WHERE id = ? AND stock_quantity >= ? + ?";
+    private static final String INCREMENT_SQL = "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockReservationTable reservationTable;
+
+    //units held by live reservations stay untouched, as in a single sell
+    public boolean[] decrement(List<BasketLine> lines) {
+        return execute(DECREMENT_SQL, lines, (ps, line) -> {
+            ps.setInt(1, line.getQuantity());
+            ps.setLong(2, line.getProductId());
+            ps.setInt(3, line.getQuantity());
+            ps.setInt(4, reservationTable.held(line.getProductId()));
+        });
+    }
+
+    public boolean[] increment(List<BasketLine> lines) {
+        return execute(INCREMENT_SQL, lines, (ps, line) -> {
+            ps.setInt(1, line.getQuantity());
+            ps.setLong(2, line.getProductId());
+        });
+    }
+
+    //on the transaction's connection; a batch without per-row counts is rolled back to a savepoint and replayed line by line
+    private boolean[] execute(String sql, List<BasketLine> lines, ParameterizedPreparedStatementSetter<BasketLine> setter) {
+        if (lines.isEmpty()) return new boolean[0];
+        return jdbcTemplate.execute((ConnectionCallback<boolean[]>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            int[] counts;
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (BasketLine line : lines) {
+                    setter.setValues(ps, line);
+                    ps.addBatch();
+                }
+                counts = ps.executeBatch();
+            }
+
+            boolean[] applied = new boolean[lines.size()];
+            //SUCCESS_NO_INFO (e.g. rewriteBatchedStatements) says nothing about which guarded lines matched: fail closed
+            if (counts.length != lines.size() || Arrays.stream(counts).anyMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+                connection.rollback(savepoint);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < lines.size(); i++) {
+                        setter.setValues(ps, lines.get(i));
+                        applied[i] = ps.executeUpdate() > 0;
+                    }
+                }
+            } else {
+                for (int i = 0; i < counts.length; i++) applied[i] = counts[i] > 0;
+            }
+            connection.releaseSavepoint(savepoint);
+            return applied;
+        });
+    }
+}
@@ -0,0 +1,221 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.entity.Transaction;
+import com.hack.InventoryManagementSystem.entity.User;
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import com.hack.InventoryManagementSystem.events.StockChangedEvent;
+import com.hack.InventoryManagementSystem.exceptions.NotFoundException;
+import com.hack.InventoryManagementSystem.exceptions.OutOfStockException;
+import com.hack.InventoryManagementSystem.exceptions.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces concurrent sales of the same product. The first sale of a window schedules a flush; every sale that
+ * arrives before it runs joins the batch, which is applied as one locked stock read, one UPDATE and one batched
+ * insert of the individual transactions. Sales are accepted in arrival order while stock lasts, the rest fail with
+ * {@link OutOfStockException}; each caller gets its own future.
+ */
+@Component
+@Slf4j
+public class StockGroupCommitter {
+
+    private static final String SELECT_STOCK_SQL = "SELECT stock_quantity FROM products WHERE id = ? FOR UPDATE";
+    private static final String UPDATE_STOCK_SQL = "UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationTable reservationTable;
+    private final boolean enabled;
+    private final long windowMicros;
+    private final int maxBatch;
+    private final long timeoutMs;
+
+    private final Map<Long, ProductQueue> queues = new ConcurrentHashMap<>();
+    //two flush threads at most, so batches never take more than two of the three Hikari connections
+    private final ScheduledExecutorService flusher = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "stock-group-commit");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StockGroupCommitter(JdbcTemplate jdbcTemplate,
+                               TransactionBatchWriter transactionBatchWriter,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               StockReservationTable reservationTable,
+                               @Value("${inventory.sell.group-commit.enabled:false}") boolean enabled,
+                               @Value("${inventory.sell.group-commit.window-ms:2}") double windowMs,
+                               @Value("${inventory.sell.group-commit.max-batch:200}") int maxBatch,
+                               @Value("${inventory.sell.group-commit.timeout-ms:5000}") long timeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.reservationTable = reservationTable;
+        this.enabled = enabled;
+        this.windowMicros = Math.round(windowMs * 1000);
+        this.maxBatch = maxBatch;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private PendingSale submit(Product product, User user, int quantity, String description) {
+        PendingSale sale = new PendingSale(product, user, quantity, description);
+        ProductQueue queue = queues.computeIfAbsent(product.getId(), id -> new ProductQueue());
+        queue.sales.add(sale);
+        if (queue.scheduled.compareAndSet(false, true)) {
+            flusher.schedule(() -> flush(product.getId(), queue), windowMicros, TimeUnit.MICROSECONDS);
+        }
+        return sale;
+    }
+
+    //blocks the caller until its sale is committed or rejected, for timeoutMs at most
+    public void sell(Product product, User user, int quantity, String description) {
+        PendingSale sale = submit(product, user, quantity, description);
+        try {
+            await(sale);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            //still queued: withdrawn before any batch took it, nothing was applied
+            if (sale.claimed.compareAndSet(false, true)) {
+                throw new ServiceUnavailableException("Venta no procesada, el producto está saturado; intente de nuevo");
+            }
+            //a batch already owns it; give that batch one more window to finish before giving up on the answer
+            try {
+                await(sale);
+            } catch (TimeoutException | InterruptedException again) {
+                if (again instanceof InterruptedException) Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Resultado de la venta desconocido, verifique las transacciones antes de reintentar");
+            }
+        }
+    }
+
+    private void await(PendingSale sale) throws TimeoutException, InterruptedException {
+        try {
+            sale.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void flush(Long productId, ProductQueue queue) {
+        //cleared before draining: a sale added from here on either lands in this batch or schedules the next one
+        queue.scheduled.set(false);
+        List<PendingSale> batch = new ArrayList<>();
+        PendingSale sale;
+        while (batch.size() < maxBatch && (sale = queue.sales.poll()) != null) {
+            //a caller that timed out has claimed its own sale already
+            if (sale.claimed.compareAndSet(false, true)) batch.add(sale);
+        }
+
+        try {
+            if (!batch.isEmpty()) apply(productId, batch);
+        } finally {
+            if (!queue.sales.isEmpty() && queue.scheduled.compareAndSet(false, true)) {
+                flusher.execute(() -> flush(productId, queue));
+            }
+        }
+    }
+
+    private void apply(Long productId, List<PendingSale> batch) {
+        List<PendingSale> accepted = new ArrayList<>(batch.size());
+        List<PendingSale> rejected = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Integer> stock = jdbcTemplate.queryForList(SELECT_STOCK_SQL, Integer.class, productId);
+                if (stock.isEmpty() || stock.get(0) == null) throw new NotFoundException("Product Not found");
+
+                //units held by live reservations are not for sale
+                int available = stock.get(0) - reservationTable.held(productId);
+                int taken = 0;
+                for (PendingSale sale : batch) {
+                    if (sale.quantity <= available - taken) {
+                        taken += sale.quantity;
+                        accepted.add(sale);
+                    } else {
+                        rejected.add(sale);
+                    }
+                }
+                if (accepted.isEmpty()) return;
+
+                jdbcTemplate.update(UPDATE_STOCK_SQL, taken, productId);
+                insertTransactions(accepted);
+                Product product = accepted.get(0).product;
+                String categoryName = product.getCategory() != null ? product.getCategory().getName() : null;
+                eventPublisher.publishEvent(new StockChangedEvent(productId, categoryName, -taken, TransactionType.SALE));
+            });
+        } catch (Throwable e) {
+            //Errors too: a future left incomplete would leave its caller waiting for nothing
+            log.warn("Group commit of {} sales for product {} failed: {}", batch.size(), productId, e.toString());
+            batch.forEach(sale -> sale.result.completeExceptionally(e));
+            if (e instanceof Error error) throw error;
+            return;
+        }
+
+        accepted.forEach(sale -> sale.result.complete(null));
+        rejected.forEach(sale -> sale.result.completeExceptionally(new OutOfStockException(
+                "Stock insuficiente para " + sale.product.getName() + " (SKU " + sale.product.getSku() + ")")));
+    }
+
+    private void insertTransactions(List<PendingSale> sales) {
+        transactionBatchWriter.insert(sales.stream().map(sale -> Transaction.builder()
+                .transactionType(TransactionType.SALE)
+                .status(TransactionStatus.COMPLETED)
+                .product(sale.product)
+                .user(sale.user)
+                .totalProducts(sale.quantity)
+                .totalPrice(sale.product.getPrice().multiply(BigDecimal.valueOf(sale.quantity)))
+                .description(sale.description)
+                .build()).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+    }
+
+    private static class ProductQueue {
+        private final Queue<PendingSale> sales = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+
+    private static class PendingSale {
+        private final Product product;
+        private final User user;
+        private final int quantity;
+        private final String description;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        //taken by either a batch or the caller giving up, whoever comes first
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private PendingSale(Product product, User user, int quantity, String description) {
+            this.product = product;
+            this.user = user;
+            this.quantity = quantity;
+            this.description = description;
+        }
+    }
+}
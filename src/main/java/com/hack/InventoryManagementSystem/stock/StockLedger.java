@@ -0,0 +1,109 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import com.hack.InventoryManagementSystem.enums.StockMovementType;
+import com.hack.InventoryManagementSystem.events.ProductChangedEvent;
+import com.hack.InventoryManagementSystem.events.ProductSnapshot;
+import com.hack.InventoryManagementSystem.events.StockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only stock movement ledger: every {@link StockChangedEvent} and every stock difference carried by a
+ * {@link ProductChangedEvent} becomes one stock_movements row. The rows of a database transaction are buffered and
+ * batch-inserted right before it commits, so the ledger and products.stock_quantity commit or roll back together and
+ * an import chunk costs one batch instead of one insert per product.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockLedger implements SmartInitializingSingleton {
+
+    private static final String INSERT_SQL = "INSERT INTO stock_movements (product_id, delta, movement_type, created_at) VALUES (?, ?, ?, ?)";
+    //once per product: whatever part of the current stock its movements do not explain, dated before its first movement.
+    //The product row is read with a lock, so a concurrent sale lands either wholly before (stock and movement) or after
+    private static final String OPENING_BALANCE_SQL = "INSERT INTO stock_movements (product_id, delta, movement_type, created_at) " +
+            "SELECT p.id, COALESCE(p.stock_quantity, 0) - COALESCE((SELECT SUM(m.delta) FROM stock_movements m WHERE m.product_id = p.id), 0), " +
+            "'OPENING_BALANCE', COALESCE((SELECT MIN(m.created_at) FROM stock_movements m WHERE m.product_id = p.id), ?) " +
+            "FROM products p WHERE NOT EXISTS (SELECT 1 FROM stock_movements o WHERE o.product_id = p.id AND o.movement_type = 'OPENING_BALANCE')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //after every singleton (and the schema update) but before the web server starts taking requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        recordOpeningBalances();
+    }
+
+    public void recordOpeningBalances() {
+        int rows = jdbcTemplate.update(OPENING_BALANCE_SQL, Timestamp.valueOf(LocalDateTime.now()));
+        if (rows > 0) log.info("Stock ledger: opening balance recorded for {} products", rows);
+    }
+
+    //plain listener: it has to run inside the publishing transaction to join its buffer
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        record(event.getProductId(), event.getDelta(), StockMovementType.valueOf(event.getTransactionType().name()));
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductSnapshot before = event.getBefore();
+        ProductSnapshot after = event.getAfter();
+        if (before == null && after != null) {
+            record(after.getId(), after.getStockQuantity(), StockMovementType.PRODUCT_CREATED);
+        } else if (before != null && after == null) {
+            record(before.getId(), -before.getStockQuantity(), StockMovementType.PRODUCT_DELETED);
+        } else if (before != null) {
+            record(after.getId(), after.getStockQuantity() - before.getStockQuantity(), StockMovementType.PRODUCT_UPDATED);
+        }
+    }
+
+    private void record(Long productId, int delta, StockMovementType type) {
+        if (productId == null || delta == 0) return;
+        Object[] row = {productId, delta, type.name(), null};
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.<Object[]>of(row));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Object[]> rows = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(rows);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StockLedger.this);
+                }
+            });
+            pending = rows;
+        }
+        pending.add(row);
+    }
+
+    //created_at is stamped when the row is inserted and gets its id, not when the event fired: the snapshot job
+    //relies on every row older than its settle lag already having committed
+    private void insert(List<Object[]> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        rows.forEach(row -> row[3] = now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
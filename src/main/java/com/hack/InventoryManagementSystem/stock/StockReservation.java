@@ -0,0 +1,41 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One live hold. The state only moves forward through CAS, so expiry, release and commit can race and exactly one
+ * of them gives the quantity back to the table.
+ */
+@Getter
+public class StockReservation {
+
+    static final int ACTIVE = 0;
+    static final int COMMITTING = 1;
+    static final int DONE = 2;
+
+    private final String id;
+    private final Long productId;
+    private final Long userId;
+    private final int quantity;
+    private final Instant expiresAt;
+    private final AtomicInteger state = new AtomicInteger(ACTIVE);
+
+    public StockReservation(String id, Long productId, Long userId, int quantity, Instant expiresAt) {
+        this.id = id;
+        this.productId = productId;
+        this.userId = userId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isActive() {
+        return state.get() == ACTIVE;
+    }
+
+    boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
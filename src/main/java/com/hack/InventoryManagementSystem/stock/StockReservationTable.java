@@ -0,0 +1,99 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live stock holds, kept in memory only. Per-product held totals are AtomicIntegers in a ConcurrentHashMap (the map
+ * is striped by bin), updated with CAS loops, so available-to-sell is answered without a DB query or a global lock.
+ * Expiry goes through a {@link ReservationTimerWheel} advanced by {@link #expireDue(Instant)}.
+ * Holds do not survive a restart: the stock they covered simply becomes sellable again.
+ */
+@Component
+public class StockReservationTable {
+
+    private final Map<Long, AtomicInteger> heldByProduct = new ConcurrentHashMap<>();
+    private final Map<String, StockReservation> reservations = new ConcurrentHashMap<>();
+    private final ReservationTimerWheel timerWheel;
+
+    public StockReservationTable(@Value("${inventory.reservation.wheel-slots:512}") int wheelSlots,
+                                 @Value("${inventory.reservation.tick-ms:1000}") long tickMillis) {
+        this.timerWheel = new ReservationTimerWheel(wheelSlots, tickMillis, Instant.now());
+    }
+
+    public int held(Long productId) {
+        AtomicInteger held = heldByProduct.get(productId);
+        return held == null ? 0 : held.get();
+    }
+
+    //adds the hold only if stock minus everything already held still covers it
+    public boolean tryHold(StockReservation reservation, int stockQuantity) {
+        AtomicInteger held = heldByProduct.computeIfAbsent(reservation.getProductId(), id -> new AtomicInteger());
+        int current;
+        do {
+            current = held.get();
+            if (stockQuantity - current < reservation.getQuantity()) return false;
+        } while (!held.compareAndSet(current, current + reservation.getQuantity()));
+        reservations.put(reservation.getId(), reservation);
+        timerWheel.add(reservation);
+        return true;
+    }
+
+    //single caller (the scheduled tick); returns how many holds were released
+    public int expireDue(Instant now) {
+        List<StockReservation> due = timerWheel.advance(now);
+        int expired = 0;
+        for (StockReservation reservation : due) {
+            if (release(reservation)) expired++;
+        }
+        return expired;
+    }
+
+    public Optional<StockReservation> find(String reservationId) {
+        return Optional.ofNullable(reservations.get(reservationId));
+    }
+
+    //ACTIVE -> DONE; false when it already expired, was released or is being committed
+    public boolean release(StockReservation reservation) {
+        if (!reservation.getState().compareAndSet(StockReservation.ACTIVE, StockReservation.DONE)) return false;
+        giveBack(reservation);
+        return true;
+    }
+
+    //ACTIVE -> COMMITTING: the hold keeps counting, but can no longer expire or be released
+    public boolean beginCommit(StockReservation reservation) {
+        return reservation.getState().compareAndSet(StockReservation.ACTIVE, StockReservation.COMMITTING);
+    }
+
+    //called once the sale is durable, the stock has left the product row so the hold goes away
+    public void completeCommit(StockReservation reservation) {
+        if (reservation.getState().compareAndSet(StockReservation.COMMITTING, StockReservation.DONE)) giveBack(reservation);
+    }
+
+    //the sale failed: the hold becomes live again unless its time ran out meanwhile
+    public void abortCommit(StockReservation reservation, Instant now) {
+        if (reservation.isExpired(now)) {
+            if (reservation.getState().compareAndSet(StockReservation.COMMITTING, StockReservation.DONE)) giveBack(reservation);
+        } else if (reservation.getState().compareAndSet(StockReservation.COMMITTING, StockReservation.ACTIVE)) {
+            //the wheel may have dropped it while it was committing (its tick can come up before the instant itself)
+            timerWheel.add(reservation);
+        }
+    }
+
+    public int size() {
+        return reservations.size();
+    }
+
+    private void giveBack(StockReservation reservation) {
+        reservations.remove(reservation.getId(), reservation);
+        AtomicInteger held = heldByProduct.get(reservation.getProductId());
+        if (held != null) held.addAndGet(-reservation.getQuantity());
+    }
+}
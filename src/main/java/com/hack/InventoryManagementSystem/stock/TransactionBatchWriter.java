@@ -0,0 +1,69 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import com.hack.InventoryManagementSystem.entity.Transaction;
+import com.hack.InventoryManagementSystem.events.TransactionsRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts many transaction rows as one JDBC batch, skipping Hibernate's per-entity persist. Must run inside the
+ * caller's transaction; generated ids are set back on the entities before TransactionsRecordedEvent goes out.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionBatchWriter {
+
+    private static final String INSERT_TRANSACTION_SQL = "INSERT INTO transactions " +
+            "(total_products, total_price, transaction_type, status, description, created_at, user_id, product_id, supplier_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void insert(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_TRANSACTION_SQL, Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Transaction transaction = transactions.get(i);
+                ps.setInt(1, transaction.getTotalProducts());
+                ps.setBigDecimal(2, transaction.getTotalPrice());
+                ps.setString(3, transaction.getTransactionType().name());
+                ps.setString(4, transaction.getStatus().name());
+                ps.setString(5, transaction.getDescription());
+                ps.setTimestamp(6, Timestamp.valueOf(transaction.getCreatedAt()));
+                ps.setLong(7, transaction.getUser().getId());
+                ps.setLong(8, transaction.getProduct().getId());
+                if (transaction.getSupplier() != null) ps.setLong(9, transaction.getSupplier().getId());
+                else ps.setNull(9, Types.BIGINT);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return transactions.size();
+            }
+        }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < transactions.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            transactions.get(i).setId(((Number) key).longValue());
+        }
+        eventPublisher.publishEvent(new TransactionsRecordedEvent(transactions));
+    }
+}
@@ -0,0 +1,142 @@
+package com.hack.InventoryManagementSystem.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Content-addressed product images: an upload is streamed to disk while it is hashed and stored as
+ * {@code <sha256>.<ext>}, so the same picture used by many SKUs is kept once. Thumbnails are generated on a bounded
+ * background executor and never on the request thread.
+ */
+@Component
+@Slf4j
+public class ProductImageStorage {
+
+    public static final String IMAGE_DIRECTORY = System.getProperty("user.dir") + "/product-image/";
+    public static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+    private static final int THUMBNAIL_SIZE = 256;
+
+    private final ThreadPoolTaskExecutor productImageExecutor;
+
+    public ProductImageStorage(ThreadPoolTaskExecutor productImageExecutor) {
+        this.productImageExecutor = productImageExecutor;
+    }
+
+    //returns the stored image path, the value kept in Product.imageUrl
+    public String store(MultipartFile imageFile) {
+        //validate check image
+        if (imageFile.getContentType() == null || !imageFile.getContentType().startsWith("image/")) {
+            throw new IllegalArgumentException("Only image files are allowed");
+        }
+
+        Path directory = Paths.get(IMAGE_DIRECTORY);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, "upload-", ".tmp");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(imageFile.getInputStream(), digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = directory.resolve(hash + "." + extension(imageFile.getOriginalFilename()));
+            if (Files.exists(target)) {
+                //identical image already stored for another product
+                Files.delete(tempFile);
+            } else {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            scheduleThumbnail(target);
+            return target.toString();
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            deleteQuietly(tempFile);
+            throw new IllegalArgumentException("Error occurred while saving image" + ex.getMessage());
+        }
+    }
+
+    public static Path thumbnailPath(Path image) {
+        String fileName = image.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return image.resolveSibling((dot > 0 ? fileName.substring(0, dot) : fileName) + THUMBNAIL_SUFFIX);
+    }
+
+    public void scheduleThumbnail(Path image) {
+        Path thumbnail = thumbnailPath(image);
+        if (Files.exists(thumbnail)) return;
+        try {
+            productImageExecutor.execute(() -> createThumbnail(image, thumbnail));
+        } catch (TaskRejectedException ex) {
+            //thumbnails can be rebuilt later, never block or fail the upload for them
+            log.warn("Thumbnail queue is full, skipping thumbnail for {}", image);
+        }
+    }
+
+    private void createThumbnail(Path image, Path thumbnail) {
+        try {
+            BufferedImage source = ImageIO.read(image.toFile());
+            if (source == null) {
+                log.warn("Unsupported image format, no thumbnail for {}", image);
+                return;
+            }
+            double scale = Math.min(1.0, (double) THUMBNAIL_SIZE / Math.max(source.getWidth(), source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(source, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            //write next to the final name and move, so readers never see a half-written thumbnail
+            Path temp = Files.createTempFile(thumbnail.getParent(), "thumb-", ".tmp");
+            ImageIO.write(scaled, "jpg", temp.toFile());
+            Files.move(temp, thumbnail, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception ex) {
+            log.error("Could not create thumbnail for {}", image, ex);
+        }
+    }
+
+    private static String extension(String originalFilename) {
+        if (originalFilename != null) {
+            int dot = originalFilename.lastIndexOf('.');
+            if (dot >= 0) {
+                String ext = originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT);
+                if (ext.matches("[a-z0-9]{1,5}")) return ext;
+            }
+        }
+        return "img";
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}", path);
+        }
+    }
+}
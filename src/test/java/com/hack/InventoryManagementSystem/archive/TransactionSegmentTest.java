@@ -0,0 +1,114 @@
+package com.hack.InventoryManagementSystem.archive;
+
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void encodeAndDecodeRoundTripEveryColumn() throws IOException {
+        ArchivedTransaction full = transaction(42);
+        full.setUpdatedAt(START.plusHours(1).withNano(123_456_789));
+        full.setOriginalSaleId(7L);
+        full.setSupplierId(9L);
+        full.setDescription("Devolución parcial ñ");
+        ArchivedTransaction empty = ArchivedTransaction.builder().id(43L).build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        TransactionSegment.encode(out, full);
+        TransactionSegment.encode(out, empty);
+        out.flush();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(full, TransactionSegment.decode(in));
+        assertEquals(empty, TransactionSegment.decode(in));
+        assertEquals(0, in.available());
+    }
+
+    @Test
+    void writtenSegmentIsReadBackThroughItsIndex() throws IOException {
+        Path file = directory.resolve("segment.seg");
+        List<ArchivedTransaction> rows = new ArrayList<>();
+        //ids with gaps, spread over several blocks of 4 rows
+        for (long id = 10; id < 60; id += 2) rows.add(transaction(id));
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file, 4)) {
+            for (ArchivedTransaction row : rows) writer.append(row);
+            writer.finish();
+        }
+
+        TransactionSegment segment = TransactionSegment.open(file);
+
+        assertEquals(10, segment.firstId());
+        assertEquals(58, segment.lastId());
+        assertEquals(rows.get(rows.size() - 1).getCreatedAt().withNano(0), segment.maxCreatedAt());
+        for (ArchivedTransaction row : rows) assertEquals(row, segment.findById(row.getId()).orElseThrow());
+        assertTrue(segment.findById(11).isEmpty());
+        assertTrue(segment.findById(9).isEmpty());
+        assertTrue(segment.findById(60).isEmpty());
+
+        List<Long> ids = new ArrayList<>();
+        //crosses the boundary between the first two blocks
+        segment.forEachCreatedBetween(START.plusMinutes(7), START.plusMinutes(11), row -> ids.add(row.getId()));
+        assertEquals(List.of(14L, 16L, 18L, 20L), ids);
+    }
+
+    @Test
+    void rejectsRowsOutOfIdOrder() throws IOException {
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(directory.resolve("segment.seg"), 4)) {
+            writer.append(transaction(5));
+            assertThrows(IllegalStateException.class, () -> writer.append(transaction(5)));
+        }
+    }
+
+    @Test
+    void refusesToOpenATruncatedSegment() throws IOException {
+        Path file = directory.resolve("segment.seg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file, 4)) {
+            for (long id = 1; id <= 10; id++) writer.append(transaction(id));
+            writer.finish();
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        assertThrows(IOException.class, () -> TransactionSegment.open(file));
+    }
+
+    //one row per minute from START
+    private static ArchivedTransaction transaction(long id) {
+        return ArchivedTransaction.builder()
+                .id(id)
+                .totalProducts((int) id)
+                .totalPrice(new BigDecimal("12.50").multiply(BigDecimal.valueOf(id)))
+                .transactionType(TransactionType.SALE)
+                .status(TransactionStatus.COMPLETED)
+                .createdAt(START.plusMinutes(id / 2).plusNanos(500_000_000))
+                .userId(1L)
+                .productId(id % 3)
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.hack.InventoryManagementSystem.benchmark;
+
+import com.hack.InventoryManagementSystem.services.impl.ProductImageServiceImpl;
+import com.hack.InventoryManagementSystem.storage.ProductImageStorage;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrent fetch throughput of {@link ProductImageServiceImpl}, without a database or a web server: a fixed set of
+ * generated JPEGs is stored through {@link ProductImageStorage} and fetched by N threads with a fixed mix of full,
+ * thumbnail, range and conditional requests. Response bytes are counted and discarded, so the numbers cover the
+ * service and the file reads, not the network.
+ * <p>
+ * mvn -B test -Pbenchmark -Dtest=ProductImageFetchBenchmark -Dbenchmark.threads=16 -Dbenchmark.requests=20000
+ * <p>
+ * -Dbenchmark.sendfile=true marks requests as sendfile-capable, as Tomcat's NIO connector does, so the service only
+ * hands the file over instead of copying it.
+ */
+@Tag("benchmark")
+class ProductImageFetchBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int IMAGES = Integer.getInteger("benchmark.images", 20);
+    private static final int IMAGE_SIZE = Integer.getInteger("benchmark.image-size", 800);
+    private static final boolean SENDFILE = Boolean.getBoolean("benchmark.sendfile");
+
+    @Test
+    void concurrentFetches() throws Exception {
+        Path directory = Paths.get(ProductImageStorage.IMAGE_DIRECTORY);
+        boolean createdDirectory = !Files.isDirectory(directory);
+        Files.createDirectories(directory);
+        Set<Path> existing = listFiles(directory);
+
+        ThreadPoolTaskExecutor thumbnailExecutor = new ThreadPoolTaskExecutor();
+        thumbnailExecutor.setCorePoolSize(2);
+        thumbnailExecutor.setMaxPoolSize(2);
+        thumbnailExecutor.setQueueCapacity(IMAGES);
+        thumbnailExecutor.initialize();
+        try {
+            ProductImageStorage storage = new ProductImageStorage(thumbnailExecutor);
+            ProductImageServiceImpl service = new ProductImageServiceImpl(storage, 32L * 1024 * 1024);
+
+            //fixed seed: every run stores the same images under the same names
+            Random random = new Random(42);
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < IMAGES; i++) {
+                byte[] jpeg = jpeg(random);
+                String stored = storage.store(new MockMultipartFile("imageFile", "bench-" + i + ".jpg", "image/jpeg", jpeg));
+                names.add(Paths.get(stored).getFileName().toString());
+            }
+            //thumbnails exist before timing starts, so thumbnail requests never fall back to the original
+            thumbnailExecutor.getThreadPoolExecutor().shutdown();
+            thumbnailExecutor.getThreadPoolExecutor().awaitTermination(1, TimeUnit.MINUTES);
+
+            run(service, names, Math.max(REQUESTS / 5, 1));
+            Result result = run(service, names, REQUESTS);
+
+            System.out.printf("Image fetch benchmark: %d threads, %d requests over %d images (%dx%d, sendfile=%s)%n",
+                    THREADS, REQUESTS, IMAGES, IMAGE_SIZE, IMAGE_SIZE, SENDFILE);
+            System.out.printf("  wall %d ms, %.0f requests/s, %.1f MB/s%n", result.wallMillis,
+                    REQUESTS * 1000.0 / result.wallMillis, result.bytes / 1024.0 / 1024.0 * 1000.0 / result.wallMillis);
+            System.out.printf("  latency p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+            assertEquals(0, result.unexpected.get(), "responses with an unexpected status");
+        } finally {
+            thumbnailExecutor.shutdown();
+            for (Path file : listFiles(directory)) {
+                if (!existing.contains(file)) Files.deleteIfExists(file);
+            }
+            if (createdDirectory) Files.deleteIfExists(directory);
+        }
+    }
+
+    private static Result run(ProductImageServiceImpl service, List<String> names, int requests) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger unexpected = new AtomicInteger();
+        long[] latencies = new long[requests];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                long bytes = 0;
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    long started = System.nanoTime();
+                    CountingResponse response = fetch(service, names.get(i % names.size()), i);
+                    latencies[i] = System.nanoTime() - started;
+                    bytes += response.written;
+                    if (response.getStatus() != expectedStatus(i)) unexpected.incrementAndGet();
+                }
+                return bytes;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        long bytes = 0;
+        for (Future<Long> worker : workers) bytes += worker.get();
+        long wallMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), 1);
+        pool.shutdown();
+        return new Result(wallMillis, bytes, latencies, unexpected);
+    }
+
+    //the mix repeats every ten requests: half full images, then thumbnails, ranges and revalidations
+    private static CountingResponse fetch(ProductImageServiceImpl service, String name, int i) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/images/" + name);
+        if (SENDFILE) request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        boolean thumbnail = false;
+        switch (i % 10) {
+            case 5, 6 -> thumbnail = true;
+            case 7 -> request.addHeader(HttpHeaders.RANGE, "bytes=0-65535");
+            case 8 -> request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + name.substring(0, name.indexOf('.')) + "\"");
+            case 9 -> request.addHeader(HttpHeaders.RANGE, "bytes=-1024");
+            default -> {
+            }
+        }
+        CountingResponse response = new CountingResponse();
+        service.serveImage(name, thumbnail, request, response);
+        return response;
+    }
+
+    private static int expectedStatus(int i) {
+        return switch (i % 10) {
+            case 7, 9 -> 206;
+            case 8 -> 304;
+            default -> 200;
+        };
+    }
+
+    //noise does not compress, so the file size stays close to a real photo of the same dimensions
+    private static byte[] jpeg(Random random) throws IOException {
+        BufferedImage image = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < IMAGE_SIZE; y++) {
+            for (int x = 0; x < IMAGE_SIZE; x++) image.setRGB(x, y, random.nextInt(0x1000000));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static Set<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new HashSet<>(files.toList());
+        }
+    }
+
+    //MockHttpServletResponse writes its body one byte at a time, which would dominate every measurement
+    private static final class CountingResponse extends MockHttpServletResponse {
+
+        private long written;
+
+        private final ServletOutputStream body = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                written++;
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                written += length;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return body;
+        }
+    }
+
+    private record Result(long wallMillis, long bytes, long[] latencies, AtomicInteger unexpected) {
+
+        double percentile(double p) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.hack.InventoryManagementSystem.benchmark;
+
+import com.hack.InventoryManagementSystem.dto.ProductImportJobDTO;
+import com.hack.InventoryManagementSystem.entity.Category;
+import com.hack.InventoryManagementSystem.enums.ImportFormat;
+import com.hack.InventoryManagementSystem.enums.ImportJobStatus;
+import com.hack.InventoryManagementSystem.repository.CategoryRepository;
+import com.hack.InventoryManagementSystem.services.ProductImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Wall time of a bulk product import, end to end through the import job: spooling, parsing, chunked writes and the
+ * listeners of every written product. The same generated CSV is imported twice, first as new products and then as
+ * updates of all of them. Needs a MySQL database; the benchmark profile points the application at a local one:
+ * <p>
+ * mvn -B test -Pbenchmark -Dtest=ProductImportBenchmark -Dbenchmark.import.rows=100000
+ * -Dbenchmark.datasource.url=jdbc:mysql://localhost:3306/inventory_benchmark?createDatabaseIfNotExist=true
+ * -Dbenchmark.datasource.username=root -Dbenchmark.datasource.password=secret
+ * <p>
+ * Everything the runs create is deleted afterwards, so the numbers stay comparable between runs on one database.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ProductImportBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.import.rows", 100_000);
+    private static final long TIMEOUT_MS = Long.getLong("benchmark.import.timeout-ms", 30 * 60 * 1000L);
+
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    private String skuPrefix;
+    private Category category;
+    private final List<Long> jobIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        skuPrefix = "BENCH-" + suffix + "-";
+        category = categoryRepository.save(Category.builder().name("benchmark-" + suffix).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        String products = "SELECT id FROM products WHERE sku LIKE ?";
+        jdbcTemplate.update("DELETE FROM stock_snapshots WHERE product_id IN (" + products + ")", skuPrefix + "%");
+        jdbcTemplate.update("DELETE FROM stock_movements WHERE product_id IN (" + products + ")", skuPrefix + "%");
+        jdbcTemplate.update("DELETE FROM products WHERE sku LIKE ?", skuPrefix + "%");
+        for (Long jobId : jobIds) {
+            jdbcTemplate.update("DELETE FROM product_import_errors WHERE job_id = ?", jobId);
+            jdbcTemplate.update("DELETE FROM product_import_jobs WHERE id = ?", jobId);
+        }
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void importWallTime() throws Exception {
+        Path csv = generateCsv();
+
+        Run inserts = runImport(csv);
+        Run updates = runImport(csv);
+
+        System.out.printf("Product import benchmark: %d rows, %.1f MB CSV%n", ROWS, Files.size(csv) / 1024.0 / 1024.0);
+        inserts.print("new products");
+        updates.print("updates");
+        assertEquals(ROWS, inserts.job.getSuccessCount());
+        assertEquals(ROWS, updates.job.getSuccessCount());
+    }
+
+    private Run runImport(Path csv) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", csv.getFileName().toString(), "text/csv", Files.readAllBytes(csv));
+        long started = System.nanoTime();
+        ProductImportJobDTO job = productImportService.bulkSaveProducts(file, ImportFormat.CSV).getImportJob();
+        jobIds.add(job.getId());
+
+        while (job.getStatus() == ImportJobStatus.QUEUED || job.getStatus() == ImportJobStatus.RUNNING) {
+            if (System.nanoTime() - started > TIMEOUT_MS * 1_000_000) throw new IllegalStateException("Import did not finish in time");
+            Thread.sleep(50);
+            job = productImportService.getImportJob(job.getId()).getImportJob();
+        }
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus(), job.getMessage());
+        //wall time from the upload call, not the job's own timer, so queueing and spooling are included
+        return new Run(job, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    //fixed seed: every run imports the same prices, stock and descriptions
+    private Path generateCsv() throws IOException {
+        Random random = new Random(42);
+        Path csv = directory.resolve("products.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("name,sku,price,stockQuantity,description,categoryId\n");
+            for (int i = 0; i < ROWS; i++) {
+                writer.write("Producto " + i + "," + skuPrefix + i + "," + (100 + random.nextInt(99_900)) / 100 + "."
+                        + random.nextInt(10) + "0," + random.nextInt(500) + ",\"Lote " + random.nextInt(1000)
+                        + ", importado\"," + category.getId() + "\n");
+            }
+        }
+        return csv;
+    }
+
+    private record Run(ProductImportJobDTO job, long wallMillis) {
+
+        void print(String pass) {
+            System.out.printf("  %-12s %d ms wall, %.0f rows/s, %d errors%n", pass, wallMillis,
+                    ROWS * 1000.0 / Math.max(wallMillis, 1), job.getErrorCount());
+        }
+    }
+}
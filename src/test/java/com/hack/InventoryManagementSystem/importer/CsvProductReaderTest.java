@@ -0,0 +1,59 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvProductReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsQuotedFieldsAndReportsSourceLines() throws Exception {
+        File file = write("\uFEFFname,sku,price,stockQuantity,description,categoryId\r\n" +
+                "Milk,SKU-1,1.50,10,plain,3\r\n" +
+                "\"Cheese, aged\",SKU-2,7,4,\"says \"\"hi\"\"\nover two lines\",3\n" +
+                "Bread,SKU-3,abc,1,,3\n" +
+                "Eggs,SKU-4,2,12,,4");
+
+        RecordingRowHandler recorder = RecordingRowHandler.read(new CsvProductReader(), file);
+
+        assertEquals(List.of(2, 3, 6), List.copyOf(recorder.rows.keySet()));
+        assertEquals("Milk", recorder.rows.get(2).getName());
+        assertEquals(new BigDecimal("1.50"), recorder.rows.get(2).getPrice());
+        assertEquals("Cheese, aged", recorder.rows.get(3).getName());
+        assertEquals("says \"hi\"\nover two lines", recorder.rows.get(3).getDescription());
+        assertEquals(4, recorder.rows.get(3).getStockQuantity());
+        //the quoted newline makes the broken row line 5, and the last row without a trailing newline is still read
+        assertEquals(List.of(5), recorder.errorLines);
+        assertEquals(4L, recorder.rows.get(6).getCategoryId());
+    }
+
+    @Test
+    void handlesRecordsLargerThanTheReadBuffer() throws Exception {
+        String description = "x".repeat(200_000);
+        File file = write("name,sku,price,stockQuantity,description,categoryId\n" +
+                "Big,SKU-1,1,1," + description + ",1\n");
+
+        RecordingRowHandler recorder = RecordingRowHandler.read(new CsvProductReader(), file);
+
+        assertEquals(description, recorder.rows.get(2).getDescription());
+        assertTrue(recorder.errorLines.isEmpty());
+    }
+
+    private File write(String content) throws Exception {
+        Path file = directory.resolve("products.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file.toFile();
+    }
+}
@@ -0,0 +1,75 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExcelProductReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsSharedStringsNumbersAndRowNumbers() throws Exception {
+        File file = write(sheet -> {
+            row(sheet, 0, "name", "sku", "price", "stockQuantity", "description", "categoryId");
+            row(sheet, 1, "Milk", 12345, 1.5, 10, "plain", 3);
+            row(sheet, 3, "Cheese", "SKU-2", "abc", 4, null, 3);
+            row(sheet, 4, "Eggs", "SKU-3", 2, 12, null, 4);
+        });
+
+        RecordingRowHandler recorder = RecordingRowHandler.read(new ExcelProductReader(), file);
+
+        assertEquals(List.of(2, 5), List.copyOf(recorder.rows.keySet()));
+        //a numeric SKU keeps its integer form
+        assertEquals("12345", recorder.rows.get(2).getSku());
+        assertEquals(new BigDecimal("1.5"), recorder.rows.get(2).getPrice());
+        assertEquals(3L, recorder.rows.get(2).getCategoryId());
+        assertEquals("", recorder.rows.get(5).getDescription());
+        assertEquals(List.of(4), recorder.errorLines);
+    }
+
+    @Test
+    void skipsTheHeaderAndBlankRows() throws Exception {
+        File file = write(sheet -> {
+            row(sheet, 0, "name", "sku", "price", "stockQuantity", "description", "categoryId");
+            row(sheet, 1, "", "", null, null, "", null);
+            row(sheet, 2, "Milk", "SKU-1", 1, 1, null, 1);
+        });
+
+        RecordingRowHandler recorder = RecordingRowHandler.read(new ExcelProductReader(), file);
+
+        assertEquals(List.of(3), List.copyOf(recorder.rows.keySet()));
+        assertTrue(recorder.errorLines.isEmpty());
+    }
+
+    private File write(Consumer<Sheet> rows) throws Exception {
+        File file = directory.resolve("products.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file.toPath())) {
+            rows.accept(workbook.createSheet());
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    private static void row(Sheet sheet, int index, Object... values) {
+        Row row = sheet.createRow(index);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof String text) row.createCell(i).setCellValue(text);
+            else if (values[i] instanceof Number number) row.createCell(i).setCellValue(number.doubleValue());
+        }
+    }
+}
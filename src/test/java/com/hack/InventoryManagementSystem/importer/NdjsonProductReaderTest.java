@@ -0,0 +1,40 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonProductReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void parsesEachLineAndRejectsOnlyTheBrokenOnes() throws Exception {
+        Path path = directory.resolve("products.ndjson");
+        Files.writeString(path,
+                "{\"name\":\"Milk\",\"sku\":\"SKU-1\",\"price\":1.5,\"stock\":10,\"categoryId\":3,\"extra\":{\"a\":[1,2]}}\n" +
+                "{\"name\":\"Cheese\",\"sku\":\"SKU-2\",\"price\":\"7\",\"stockQuantity\":4}\n" +
+                "not json\n" +
+                "\n" +
+                "{\"name\":\"Eggs\",\"sku\":\"SKU-3\",\"price\":2,\"stockQuantity\":12,\"categoryId\":4,\"description\":null}\n",
+                StandardCharsets.UTF_8);
+        File file = path.toFile();
+
+        RecordingRowHandler recorder = RecordingRowHandler.read(new NdjsonProductReader(), file);
+
+        assertEquals(List.of(1, 5), List.copyOf(recorder.rows.keySet()));
+        assertEquals(10, recorder.rows.get(1).getStockQuantity());
+        assertEquals(new BigDecimal("1.5"), recorder.rows.get(1).getPrice());
+        //line 2 lacks categoryId, line 3 is not JSON; the empty line 4 is skipped
+        assertEquals(List.of(2, 3), recorder.errorLines);
+    }
+}
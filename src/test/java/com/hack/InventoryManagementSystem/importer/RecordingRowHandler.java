@@ -0,0 +1,32 @@
+package com.hack.InventoryManagementSystem.importer;
+
+import com.hack.InventoryManagementSystem.dto.ProductDTO;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//collects what a reader hands out, keyed by the source row number it reports
+class RecordingRowHandler implements ProductRowHandler {
+
+    final Map<Integer, ProductDTO> rows = new LinkedHashMap<>();
+    final List<Integer> errorLines = new ArrayList<>();
+
+    static RecordingRowHandler read(ProductFileReader reader, File file) throws Exception {
+        RecordingRowHandler handler = new RecordingRowHandler();
+        reader.read(file, handler);
+        return handler;
+    }
+
+    @Override
+    public void onRow(int rowNumber, ProductDTO row) {
+        rows.put(rowNumber, row);
+    }
+
+    @Override
+    public void onError(int rowNumber, String message) {
+        errorLines.add(rowNumber);
+    }
+}
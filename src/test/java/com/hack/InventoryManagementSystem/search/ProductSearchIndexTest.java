@@ -0,0 +1,102 @@
+package com.hack.InventoryManagementSystem.search;
+
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import com.hack.InventoryManagementSystem.events.ProductChangedEvent;
+import com.hack.InventoryManagementSystem.events.ProductSnapshot;
+import com.hack.InventoryManagementSystem.events.StockChangedEvent;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        //the mocked repository has no rows, so the startup build only flips the index to ready
+        index = new ProductSearchIndex(mock(ProductRepository.class));
+        index.buildOnStartup();
+        for (int i = 0; i < 500 && !index.isReady(); i++) Thread.sleep(10);
+        assertTrue(index.isReady());
+
+        add(product(1L, "Café con leche", "CAF-001", "hot drink"));
+        add(product(2L, "Cafetera italiana", "KIT-4512-X", "para café"));
+        add(product(3L, "Leche entera", "LEC-002", "fresh"));
+    }
+
+    @Test
+    void ranksExactNameMatchesAbovePrefixMatches() {
+        ProductSearchIndex.SearchResult result = index.search("CAFE", 0, 10);
+
+        assertEquals(List.of(1L, 2L), ids(result));
+        assertEquals(2, result.getTotal());
+    }
+
+    @Test
+    void everyTokenMustMatch() {
+        assertEquals(List.of(1L), ids(index.search("cafe leche", 0, 10)));
+        assertEquals(List.of(), ids(index.search("cafe fresh", 0, 10)));
+    }
+
+    @Test
+    void matchesSkuTokensPrefixesAndSubstrings() {
+        assertEquals(List.of(2L), ids(index.search("4512", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("kit-45", 0, 10)));
+        //"t4512" is only a substring of the normalized SKU "kit4512x"
+        assertEquals(List.of(2L), ids(index.search("t4512", 0, 10)));
+    }
+
+    @Test
+    void pagesKeepTheTotalOfAllMatches() {
+        ProductSearchIndex.SearchResult second = index.search("cafe", 1, 1);
+
+        assertEquals(List.of(2L), ids(second));
+        assertEquals(2, second.getTotal());
+
+        //page * size overflows an int
+        ProductSearchIndex.SearchResult pastTheEnd = index.search("cafe", Integer.MAX_VALUE, 100);
+        assertEquals(List.of(), ids(pastTheEnd));
+        assertEquals(2, pastTheEnd.getTotal());
+    }
+
+    @Test
+    void followsUpdatesDeletesAndStockChanges() {
+        ProductSnapshot before = product(1L, "Café con leche", "CAF-001", "hot drink");
+        index.onProductChanged(new ProductChangedEvent(before, product(1L, "Té verde", "TEA-001", "hot drink")));
+        index.onProductChanged(new ProductChangedEvent(product(2L, "Cafetera italiana", "KIT-4512-X", "para café"), null));
+        index.onStockChanged(new StockChangedEvent(3L, "Food", -4, TransactionType.SALE));
+
+        assertEquals(List.of(), ids(index.search("cafe", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("verde", 0, 10)));
+        assertEquals(6, index.search("leche", 0, 10).getHits().get(0).getStockQuantity());
+    }
+
+    private void add(ProductSnapshot product) {
+        index.onProductChanged(new ProductChangedEvent(null, product));
+    }
+
+    private static ProductSnapshot product(Long id, String name, String sku, String description) {
+        return ProductSnapshot.builder()
+                .id(id)
+                .name(name)
+                .sku(sku)
+                .description(description)
+                .price(BigDecimal.TEN)
+                .stockQuantity(10)
+                .categoryId(1L)
+                .categoryName("Food")
+                .build();
+    }
+
+    private static List<Long> ids(ProductSearchIndex.SearchResult result) {
+        return result.getHits().stream().map(ProductSearchIndex.SearchDoc::getId).toList();
+    }
+}
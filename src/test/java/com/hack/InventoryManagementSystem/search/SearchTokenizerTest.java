@@ -0,0 +1,29 @@
+package com.hack.InventoryManagementSystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchTokenizerTest {
+
+    @Test
+    void tokenizeLowercasesStripsAccentsAndSplitsOnSymbols() {
+        assertEquals(List.of("cafe", "creme", "2x", "abc", "4512"), SearchTokenizer.tokenize("  Café-Crème 2X / ABC_4512 "));
+    }
+
+    @Test
+    void tokenizeReturnsNothingForBlankText() {
+        assertTrue(SearchTokenizer.tokenize(null).isEmpty());
+        assertTrue(SearchTokenizer.tokenize(" \t-- ").isEmpty());
+    }
+
+    @Test
+    void trigramsSlideOverTheTokenAndKeepShortTokensWhole() {
+        assertEquals(List.of("abc", "bcd", "cde"), SearchTokenizer.trigrams("abcde"));
+        assertEquals(List.of("abc"), SearchTokenizer.trigrams("abc"));
+        assertEquals(List.of("ab"), SearchTokenizer.trigrams("ab"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.hack.InventoryManagementSystem.services;
+
+import com.hack.InventoryManagementSystem.dto.Response;
+import com.hack.InventoryManagementSystem.dto.TransactionDTO;
+import com.hack.InventoryManagementSystem.entity.*;
+import com.hack.InventoryManagementSystem.enums.TransactionStatus;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import com.hack.InventoryManagementSystem.enums.UserRole;
+import com.hack.InventoryManagementSystem.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionDetailQueryCountTest {
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private SupplierRepository supplierRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category category;
+    private Product product;
+    private Supplier supplier;
+    private User user;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = categoryRepository.save(Category.builder().name("detail-" + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("Detail product")
+                .sku("DETAIL-" + suffix)
+                .price(BigDecimal.TEN)
+                .stockQuantity(10)
+                .category(category)
+                .build());
+        supplier = supplierRepository.save(Supplier.builder().name("Detail supplier " + suffix).address("Somewhere").build());
+        user = userRepository.save(User.builder()
+                .name("Detail")
+                .email("detail-" + suffix + "@test.local")
+                .password("x")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+        //a few more rows in the user's history, none of which may be loaded by the detail fetch
+        for (int i = 0; i < 3; i++) {
+            transaction = transactionRepository.save(Transaction.builder()
+                    .transactionType(TransactionType.PURCHASE)
+                    .status(TransactionStatus.COMPLETED)
+                    .product(product)
+                    .supplier(supplier)
+                    .user(user)
+                    .totalProducts(1)
+                    .totalPrice(BigDecimal.TEN)
+                    .description("detail " + i)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transaction_search_terms WHERE transaction_id IN (SELECT id FROM transactions WHERE user_id = ?)", user.getId());
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", user.getId());
+        productRepository.deleteById(product.getId());
+        categoryRepository.deleteById(category.getId());
+        supplierRepository.deleteById(supplier.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void transactionDetailIsOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Response response = transactionService.getTransactionsById(transaction.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        TransactionDTO dto = response.getTransaction();
+        assertEquals(product.getSku(), dto.getProduct().getSku());
+        assertEquals(category.getName(), dto.getProduct().getCategory().getName());
+        assertEquals(supplier.getName(), dto.getSupplier().getName());
+        assertEquals(user.getEmail(), dto.getUser().getEmail());
+        assertNull(dto.getUser().getTransactions());
+        assertNull(dto.getUser().getPassword());
+    }
+}
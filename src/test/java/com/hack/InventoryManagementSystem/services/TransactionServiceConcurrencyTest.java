@@ -0,0 +1,121 @@
+package com.hack.InventoryManagementSystem.services;
+
+import com.hack.InventoryManagementSystem.dto.TransactionsRequest;
+import com.hack.InventoryManagementSystem.entity.Category;
+import com.hack.InventoryManagementSystem.entity.Product;
+import com.hack.InventoryManagementSystem.entity.User;
+import com.hack.InventoryManagementSystem.enums.TransactionType;
+import com.hack.InventoryManagementSystem.enums.UserRole;
+import com.hack.InventoryManagementSystem.exceptions.OutOfStockException;
+import com.hack.InventoryManagementSystem.repository.CategoryRepository;
+import com.hack.InventoryManagementSystem.repository.ProductRepository;
+import com.hack.InventoryManagementSystem.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class TransactionServiceConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int SALES_PER_THREAD = 20;
+    private static final int INITIAL_STOCK = 1000;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category category;
+    private Product product;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = categoryRepository.save(Category.builder().name("stress-" + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("Stress product")
+                .sku("STRESS-" + suffix)
+                .price(BigDecimal.ONE)
+                .stockQuantity(INITIAL_STOCK)
+                .category(category)
+                .build());
+        user = userRepository.save(User.builder()
+                .name("Stress")
+                .email("stress-" + suffix + "@test.local")
+                .password("x")
+                .phoneNumber("000")
+                .role(UserRole.MANAGER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transaction_search_terms WHERE transaction_id IN (SELECT id FROM transactions WHERE product_id = ?)", product.getId());
+        jdbcTemplate.update("DELETE FROM transactions WHERE product_id = ?", product.getId());
+        productRepository.deleteById(product.getId());
+        categoryRepository.deleteById(category.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void concurrentSalesNeverOversellOrLoseUpdates() throws Exception {
+        //more attempts than stock so the conditional update has to reject the tail
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of()));
+                start.await();
+                for (int sale = 0; sale < SALES_PER_THREAD; sale++) {
+                    try {
+                        transactionService.sell(new TransactionsRequest(product.getId(), 1, null, "stress"));
+                        sold.incrementAndGet();
+                    } catch (OutOfStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                SecurityContextHolder.clearContext();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(2, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        //only this test's product, whatever else the table holds
+        Long recordedSales = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE product_id = ? AND transaction_type = ?",
+                Long.class, product.getId(), TransactionType.SALE.name());
+
+        assertEquals(INITIAL_STOCK, sold.get());
+        assertEquals(THREADS * SALES_PER_THREAD - INITIAL_STOCK, rejected.get());
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+        assertEquals(INITIAL_STOCK, recordedSales.intValue());
+    }
+}
@@ -0,0 +1,74 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationTimerWheelTest {
+
+    private static final Instant START = Instant.ofEpochMilli(1_000_000);
+
+    private final ReservationTimerWheel wheel = new ReservationTimerWheel(8, 100, START);
+
+    @Test
+    void returnsAReservationOnceItsDeadlineTickHasPassed() {
+        StockReservation reservation = reservation("r1", 250);
+        wheel.add(reservation);
+
+        assertTrue(wheel.advance(START.plusMillis(200)).isEmpty());
+        assertEquals(List.of(reservation), wheel.advance(START.plusMillis(300)));
+        assertTrue(wheel.advance(START.plusMillis(400)).isEmpty());
+    }
+
+    @Test
+    void keepsDeadlinesMoreThanOneRevolutionAwayUntilTheirRound() {
+        //tick 13 shares a slot with tick 5 on an 8-slot wheel
+        StockReservation reservation = reservation("r1", 1250);
+        wheel.add(reservation);
+
+        assertTrue(wheel.advance(START.plusMillis(500)).isEmpty());
+        assertTrue(wheel.advance(START.plusMillis(1200)).isEmpty());
+        assertEquals(List.of(reservation), wheel.advance(START.plusMillis(1300)));
+    }
+
+    @Test
+    void aDeadlineAlreadyWalkedGoesIntoTheNextTick() {
+        wheel.advance(START.plusMillis(500));
+        StockReservation late = reservation("late", 100);
+        wheel.add(late);
+
+        assertEquals(List.of(late), wheel.advance(START.plusMillis(600)));
+    }
+
+    @Test
+    void dropsFinishedReservationsWithoutReturningThem() {
+        StockReservation released = reservation("released", 100);
+        StockReservation live = reservation("live", 100);
+        wheel.add(released);
+        wheel.add(live);
+        released.getState().set(StockReservation.DONE);
+
+        assertEquals(List.of(live), wheel.advance(START.plusMillis(100)));
+    }
+
+    @Test
+    void catchesUpAfterALongPauseInOnePass() {
+        StockReservation first = reservation("first", 200);
+        StockReservation second = reservation("second", 5_000);
+        wheel.add(first);
+        wheel.add(second);
+
+        List<StockReservation> due = wheel.advance(START.plusMillis(100_000));
+
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of(first, second)));
+    }
+
+    private static StockReservation reservation(String id, long expiresAfterMillis) {
+        return new StockReservation(id, 1L, 1L, 1, START.plusMillis(expiresAfterMillis));
+    }
+}
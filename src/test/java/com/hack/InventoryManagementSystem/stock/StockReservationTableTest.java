@@ -0,0 +1,127 @@
+package com.hack.InventoryManagementSystem.stock;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockReservationTableTest {
+
+    private final StockReservationTable table = new StockReservationTable(64, 1000);
+    private final Instant now = Instant.now();
+
+    @Test
+    void holdsOnlyWhatTheStockStillCovers() {
+        assertTrue(table.tryHold(reservation("r1", 6, 60), 10));
+        assertFalse(table.tryHold(reservation("r2", 5, 60), 10));
+        assertTrue(table.tryHold(reservation("r3", 4, 60), 10));
+
+        assertEquals(10, table.held(1L));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void releaseGivesTheQuantityBackOnce() {
+        StockReservation reservation = reservation("r1", 3, 60);
+        table.tryHold(reservation, 10);
+
+        assertTrue(table.release(reservation));
+        assertFalse(table.release(reservation));
+        assertEquals(0, table.held(1L));
+        assertTrue(table.find("r1").isEmpty());
+    }
+
+    @Test
+    void expireDueReleasesOnlyExpiredHolds() {
+        table.tryHold(reservation("short", 2, 5), 10);
+        table.tryHold(reservation("long", 3, 600), 10);
+
+        assertEquals(1, table.expireDue(now.plusSeconds(10)));
+        assertEquals(3, table.held(1L));
+        assertTrue(table.find("short").isEmpty());
+        assertTrue(table.find("long").isPresent());
+    }
+
+    @Test
+    void aCommittingHoldCannotExpireAndCompletingItRemovesIt() {
+        StockReservation reservation = reservation("r1", 4, 5);
+        table.tryHold(reservation, 10);
+
+        assertTrue(table.beginCommit(reservation));
+        assertEquals(0, table.expireDue(now.plusSeconds(10)));
+        assertFalse(table.release(reservation));
+        assertEquals(4, table.held(1L));
+
+        table.completeCommit(reservation);
+        assertEquals(0, table.held(1L));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    void anAbortedCommitIsRearmedAndStillExpires() {
+        StockReservation reservation = reservation("r1", 4, 5);
+        table.tryHold(reservation, 10);
+        table.beginCommit(reservation);
+        //the wheel walks the deadline tick while the sale is still in flight
+        assertEquals(0, table.expireDue(now.plusSeconds(6)));
+
+        table.abortCommit(reservation, now.plusSeconds(4));
+        assertTrue(reservation.isActive());
+        assertEquals(1, table.expireDue(now.plusSeconds(8)));
+        assertEquals(0, table.held(1L));
+    }
+
+    @Test
+    void anAbortedCommitPastItsDeadlineIsGivenBack() {
+        StockReservation reservation = reservation("r1", 4, 5);
+        table.tryHold(reservation, 10);
+        table.beginCommit(reservation);
+
+        table.abortCommit(reservation, now.plusSeconds(6));
+        assertFalse(reservation.isActive());
+        assertEquals(0, table.held(1L));
+    }
+
+    @Test
+    void concurrentHoldsNeverExceedTheStock() throws Exception {
+        int threads = 8;
+        int attempts = 200;
+        int stock = 500;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attempts; i++) {
+                    if (table.tryHold(reservation(thread + "-" + i, 1, 60), stock)) granted.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        assertEquals(stock, granted.get());
+        assertEquals(stock, table.held(1L));
+    }
+
+    private StockReservation reservation(String id, int quantity, long expiresAfterSeconds) {
+        return new StockReservation(id, 1L, 1L, quantity, now.plusSeconds(expiresAfterSeconds));
+    }
+}